@@ -0,0 +1,68 @@
+package com.eventflow.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints two JMH JSON result files side by side with the change in score,
+ * e.g. a run on main against a run on a branch:
+ * {@code -Dbenchmark.main=com.eventflow.benchmark.BenchmarkCompare -Dbenchmark.args="<base.json> <new.json>"}.
+ */
+public final class BenchmarkCompare {
+
+    private BenchmarkCompare() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkCompare <base.json> <new.json>");
+            System.exit(2);
+        }
+        Map<String, JsonObject> base = read(Path.of(args[0]));
+        Map<String, JsonObject> current = read(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Base", "New", "Change", "Unit");
+        for (Map.Entry<String, JsonObject> entry : current.entrySet()) {
+            JsonObject now = entry.getValue().getAsJsonObject("primaryMetric");
+            JsonObject before = base.containsKey(entry.getKey())
+                    ? base.get(entry.getKey()).getAsJsonObject("primaryMetric")
+                    : null;
+            double score = now.get("score").getAsDouble();
+            String unit = now.get("scoreUnit").getAsString();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+            } else {
+                double baseScore = before.get("score").getAsDouble();
+                double change = baseScore != 0 ? (score - baseScore) / baseScore * 100 : 0;
+                System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), baseScore, score, change, unit);
+            }
+        }
+    }
+
+    // Keyed by benchmark name plus parameters, so parameterised runs line up
+    private static Map<String, JsonObject> read(Path file) throws IOException {
+        Map<String, JsonObject> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+                if (run.has("params")) {
+                    for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().getAsString());
+                    }
+                }
+                results.put(key.toString(), run);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventflow.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default entry point of the benchmarks profile. Runs JMH with the given
+ * arguments and, unless they already choose a result format or file, writes
+ * the results as JSON to benchmark-results/&lt;timestamp&gt;-&lt;git revision&gt;.json
+ * so runs can be kept and compared with {@link BenchmarkCompare}.
+ */
+public final class BenchmarkRunner {
+
+    static final String RESULTS_DIR = "benchmark-results";
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(Arrays.asList(args));
+        boolean listOnly = jmhArgs.contains("-l") || jmhArgs.contains("-lp") || jmhArgs.contains("-h");
+        if (!listOnly && !jmhArgs.contains("-rf") && !jmhArgs.contains("-rff")) {
+            File dir = new File(RESULTS_DIR);
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Could not create " + dir.getAbsolutePath());
+            }
+            String name = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + "-" + gitRevision() + ".json";
+            File results = new File(dir, name);
+            jmhArgs.addAll(List.of("-rf", "json", "-rff", results.getPath()));
+            System.out.println("Writing results to " + results.getAbsolutePath());
+        }
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+
+    private static String gitRevision() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String revision = new String(git.getInputStream().readAllBytes()).trim();
+            if (git.waitFor(5, TimeUnit.SECONDS) && git.exitValue() == 0 && !revision.isEmpty()) {
+                return revision;
+            }
+        } catch (IOException e) {
+            // Not a git checkout, or git is not installed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventflow.benchmark;
+
+import com.eventflow.model.Event;
+import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.model.Venue;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic catalog data shaped like a real catalog page: one page of
+ * events (the API default of 50), most with a venue, with descriptions of
+ * realistic length, and an event's registrant list.
+ */
+public final class CatalogFixtures {
+
+    public static final int PAGE_SIZE = 50;
+
+    private static final String DESCRIPTION = "Join us for an evening of talks, demos and networking. "
+            + "Doors open an hour early; light refreshments are provided. Bring a laptop if you want "
+            + "to follow along with the hands-on sessions after the break.";
+
+    private CatalogFixtures() {}
+
+    public static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Event event = new Event();
+            event.setEventId(1000 + i);
+            event.setTitle("Community Meetup #" + i);
+            event.setDescription(DESCRIPTION);
+            event.setEventDate(Date.valueOf("2030-0" + (1 + i % 9) + "-" + (10 + i % 18)));
+            event.setCreatedBy(7);
+            event.setCreatedAt(new Timestamp(1_800_000_000_000L + i * 60_000L));
+            event.setRegistrationCount(i * 3);
+            if (i % 5 != 0) {
+                Venue venue = new Venue();
+                venue.setVenueId(i % 7 + 1);
+                venue.setName("Hall " + (i % 7 + 1));
+                venue.setLocation("12 Market Street, Floor " + (i % 4 + 1));
+                venue.setCapacity(100 + i);
+                event.setVenueId(venue.getVenueId());
+                event.setVenue(venue);
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /** Registrants of one event, as the organizer's registration list returns them; every tenth is waitlisted. */
+    public static List<RegistrationDetails> registrants(int count) {
+        List<RegistrationDetails> registrants = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            RegistrationDetails details = new RegistrationDetails();
+            details.setRegId(5000 + i);
+            details.setRegisteredAt(new Timestamp(1_800_000_000_000L + i * 1_000L));
+            if (i % 10 == 0) {
+                details.setStatus(Registration.WAITLISTED);
+                details.setWaitlistPosition(i / 10);
+            } else {
+                details.setStatus(Registration.CONFIRMED);
+            }
+            details.setUserId(200 + i);
+            details.setFullName("Attendee Number " + i);
+            details.setEmail("attendee" + i + "@example.com");
+            registrants.add(details);
+        }
+        return registrants;
+    }
+}
@@ -0,0 +1,88 @@
+package com.eventflow.benchmark;
+
+import com.eventflow.json.Json;
+import com.eventflow.model.Event;
+import com.eventflow.model.RegistrationDetails;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the hot paths: writing a page of events with their venues as
+ * the event cache does when it fills, writing an event's registrant list,
+ * and reading an event body on create and update. {@code gson=adapters} is
+ * the shared {@link Json} instance with its hand-written adapters;
+ * {@code gson=reflection} is a plain Gson with the java.sql.Date
+ * deserializer the controllers used before. Add {@code -prof gc} to compare
+ * bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({"adapters", "reflection"})
+    public String gson;
+
+    private Gson instance;
+    private List<Event> page;
+    private Event single;
+    private List<RegistrationDetails> registrants;
+    private String eventBody;
+
+    @Setup
+    public void setUp() {
+        instance = gson.equals("adapters") ? Json.gson() : reflectionGson();
+        page = CatalogFixtures.events(CatalogFixtures.PAGE_SIZE);
+        single = page.get(0);
+        registrants = CatalogFixtures.registrants(200);
+        // What the frontend sends on create and update
+        eventBody = "{\"title\":\"Community Meetup\",\"description\":\"Talks and demos\","
+                + "\"eventDate\":\"2030-05-14\",\"venueId\":3}";
+    }
+
+    @Benchmark
+    public String serializePage() {
+        return instance.toJson(page);
+    }
+
+    @Benchmark
+    public String serializeEvent() {
+        return instance.toJson(single);
+    }
+
+    @Benchmark
+    public String serializeRegistrants() {
+        return instance.toJson(registrants);
+    }
+
+    @Benchmark
+    public Event deserializeEventBody() {
+        return instance.fromJson(eventBody, Event.class);
+    }
+
+    private static Gson reflectionGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Date.class, (JsonDeserializer<Date>) (json, typeOfT, context) ->
+                        Date.valueOf(json.getAsString()))
+                .create();
+    }
+}
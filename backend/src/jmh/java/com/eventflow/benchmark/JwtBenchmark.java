@@ -0,0 +1,53 @@
+package com.eventflow.benchmark;
+
+import com.eventflow.model.AuthPrincipal;
+import com.eventflow.model.User;
+import com.eventflow.service.AuthService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token cost: a full parse and HMAC check of a signed token, and
+ * the verified-token cache hit that AuthMiddleware takes on repeat requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private final AuthService authService = new AuthService();
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setUserId(7);
+        user.setRole("organizer");
+        token = authService.generateToken(user);
+        authService.authenticate(token);
+    }
+
+    @Benchmark
+    public Claims parseAndVerify() {
+        return authService.getClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public AuthPrincipal authenticateCached() {
+        return authService.authenticate(token);
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventflow.benchmark;
+
+import com.eventflow.dao.memory.MemoryEventDao;
+import com.eventflow.dao.memory.MemoryRegistrationDao;
+import com.eventflow.dao.memory.MemoryStore;
+import com.eventflow.dao.memory.MemoryUserDao;
+import com.eventflow.dao.memory.MemoryVenueDao;
+import com.eventflow.model.Event;
+import com.eventflow.model.EventFilter;
+import com.eventflow.model.EventPage;
+import com.eventflow.model.Registration;
+import com.eventflow.model.User;
+import com.eventflow.model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read throughput of the in-memory storage engine with several threads,
+ * against a store of 100 organizers, 500 venues, 20000 events and 50000
+ * registrations: primary-key lookups, a catalog page through the date index
+ * and an organizer's page through the organizer index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MemoryStorageBenchmark {
+
+    static final int ORGANIZERS = 100;
+    static final int VENUES = 500;
+    static final int EVENTS = 20_000;
+    static final int ATTENDEES = 5_000;
+    static final int REGISTRATIONS_PER_ATTENDEE = 10;
+
+    private MemoryEventDao eventDao;
+    private MemoryRegistrationDao registrationDao;
+    private EventFilter catalogPage;
+
+    @Setup
+    public void setUp() {
+        MemoryStore store = new MemoryStore();
+        MemoryUserDao userDao = new MemoryUserDao(store);
+        MemoryVenueDao venueDao = new MemoryVenueDao(store);
+        eventDao = new MemoryEventDao(store);
+        registrationDao = new MemoryRegistrationDao(store);
+
+        for (int i = 1; i <= ORGANIZERS + ATTENDEES; i++) {
+            User user = new User();
+            user.setFullName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hash");
+            user.setRole(i <= ORGANIZERS ? "organizer" : "attendee");
+            userDao.createUser(user);
+        }
+        for (int i = 1; i <= VENUES; i++) {
+            Venue venue = new Venue();
+            venue.setName("Venue " + i);
+            venue.setLocation("Street " + i);
+            venue.setCapacity(100 + i);
+            venue.setCreatedBy(1 + i % ORGANIZERS);
+            venueDao.createVenue(venue);
+        }
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        for (int i = 1; i <= EVENTS; i++) {
+            Event event = new Event();
+            event.setTitle("Event " + i);
+            event.setDescription("Description of event " + i);
+            event.setEventDate(Date.valueOf(start.plusDays(i % 730)));
+            event.setVenueId(1 + i % VENUES);
+            event.setCreatedBy(1 + i % ORGANIZERS);
+            eventDao.createEvent(event);
+        }
+        for (int user = ORGANIZERS + 1; user <= ORGANIZERS + ATTENDEES; user++) {
+            for (int j = 0; j < REGISTRATIONS_PER_ATTENDEE; j++) {
+                Registration registration = new Registration();
+                registration.setUserId(user);
+                registration.setEventId(1 + (user * 31 + j * 997) % EVENTS);
+                registrationDao.createRegistration(registration);
+            }
+        }
+        catalogPage = new EventFilter();
+    }
+
+    @Benchmark
+    public Event eventById() {
+        return eventDao.getEventById(1 + ThreadLocalRandom.current().nextInt(EVENTS));
+    }
+
+    @Benchmark
+    public EventPage catalogPage() {
+        return eventDao.getEvents(catalogPage);
+    }
+
+    @Benchmark
+    public EventPage organizerPage() {
+        EventFilter filter = new EventFilter();
+        filter.setOrganizerId(1 + ThreadLocalRandom.current().nextInt(ORGANIZERS));
+        return eventDao.getEvents(filter);
+    }
+
+    @Benchmark
+    public int[] registeredEventIds() {
+        return registrationDao.getRegisteredEventIds(
+                ORGANIZERS + 1 + ThreadLocalRandom.current().nextInt(ATTENDEES));
+    }
+}
@@ -0,0 +1,106 @@
+package com.eventflow.benchmark;
+
+import com.eventflow.dao.JdbcRegistrationDao;
+import com.eventflow.dao.RegistrationBatchWriter;
+import com.eventflow.model.Registration;
+import com.eventflow.util.HikariCPDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration inserts per second with many concurrent callers: one INSERT
+ * and commit per row against the group-commit writer.
+ *
+ * <p>Needs the PostgreSQL database from config.properties. The trial creates
+ * its own users and events (removed again afterwards) so every insert is a
+ * fresh (user, event) pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(64)
+@Fork(1)
+public class RegistrationInsertBenchmark {
+
+    static final int USERS = 1000;
+    static final int EVENTS = 1000;
+
+    private final JdbcRegistrationDao registrationDao = new JdbcRegistrationDao();
+    private RegistrationBatchWriter batchWriter;
+    private final AtomicLong sequence = new AtomicLong();
+    private int[] userIds;
+    private int[] eventIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        tearDown();
+        userIds = insertIds("INSERT INTO public.users (full_name, email, password, role) " +
+                "SELECT 'Bench ' || g, 'bench-' || g || '@bench.local', 'x', 'attendee' " +
+                "FROM generate_series(1, " + USERS + ") g RETURNING user_id");
+        eventIds = insertIds("INSERT INTO public.events (title, event_date) " +
+                "SELECT 'registration-benchmark', DATE '2099-01-01' " +
+                "FROM generate_series(1, " + EVENTS + ") g RETURNING event_id");
+        batchWriter = new RegistrationBatchWriter(registrationDao, 200, 0, 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM public.events WHERE title = 'registration-benchmark'");
+            stmt.executeUpdate("DELETE FROM public.users WHERE email LIKE 'bench-%@bench.local'");
+        }
+    }
+
+    @Benchmark
+    public Registration perRow() {
+        return registrationDao.insertRegistration(nextRegistration());
+    }
+
+    @Benchmark
+    public Registration groupCommit() {
+        return batchWriter.insert(nextRegistration());
+    }
+
+    private Registration nextRegistration() {
+        long n = sequence.getAndIncrement();
+        Registration registration = new Registration();
+        registration.setUserId(userIds[(int) (n % USERS)]);
+        registration.setEventId(eventIds[(int) (n / USERS % EVENTS)]);
+        return registration;
+    }
+
+    private static int[] insertIds(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = HikariCPDataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,121 @@
+package com.eventflow.benchmark;
+
+import com.eventflow.util.AuthMiddleware;
+import com.eventflow.util.RouteAuthorizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of deciding whether a request needs a token and whether
+ * the caller may proceed: the regex-based checks AuthMiddleware used to run
+ * (kept below as the baseline) against the compiled RouteAuthorizer trie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteAuthorizationBenchmark {
+
+    // A representative mix of {method, path, role} as seen by the before-filter
+    static final String[][] REQUESTS = {
+            {"GET", "/api/events", "attendee"},
+            {"GET", "/api/events/42", "attendee"},
+            {"POST", "/api/events/42/register", "attendee"},
+            {"GET", "/api/users/7/registrations", "attendee"},
+            {"GET", "/api/organizer/events", "organizer"},
+            {"GET", "/api/organizer/events/42/registrations", "organizer"},
+            {"POST", "/api/events", "organizer"},
+            {"PUT", "/api/events/42", "organizer"},
+            {"GET", "/api/venues", "organizer"},
+            {"POST", "/api/auth/login", null},
+            {"OPTIONS", "/api/events", null},
+            {"GET", "/api/admin/registrations", "admin"},
+    };
+    static final int USER_ID = 7;
+
+    private final RouteAuthorizer authorizer = AuthMiddleware.getAuthorizer();
+
+    @Benchmark
+    public void regexMatching(Blackhole bh) {
+        for (String[] r : REQUESTS) {
+            boolean isProtected = LegacyRouteMatching.isProtectedRoute(r[0], r[1]);
+            bh.consume(isProtected && LegacyRouteMatching.hasPermission(r[0], r[1], r[2], USER_ID));
+        }
+    }
+
+    @Benchmark
+    public void compiledTrie(Blackhole bh) {
+        for (String[] r : REQUESTS) {
+            RouteAuthorizer.Rule rule = authorizer.match(r[0], r[1]);
+            bh.consume(rule.requiresAuth() && rule.permits(r[1], r[2], USER_ID));
+        }
+    }
+
+    /** The former AuthMiddleware logic, with the Spark Request replaced by plain arguments. */
+    static final class LegacyRouteMatching {
+
+        static boolean isProtectedRoute(String method, String path) {
+            if ("OPTIONS".equalsIgnoreCase(method)) {
+                return false;
+            }
+            if (Arrays.asList("POST", "PUT", "DELETE").contains(method) && !path.startsWith("/api/auth")) {
+                return true;
+            }
+            if ("GET".equalsIgnoreCase(method)) {
+                List<String> protectedGetRoutes = Arrays.asList(
+                        "/api/users/.*/registrations",
+                        "/api/admin/registrations",
+                        "/api/venues",
+                        "/api/organizer/events",
+                        "/api/organizer/events/.*/registrations"
+                );
+                return protectedGetRoutes.stream().anyMatch(path::matches);
+            }
+            return false;
+        }
+
+        static boolean hasPermission(String method, String path, String role, int userId) {
+            if (path.equals("/api/events") && method.equals("POST")) {
+                return "organizer".equals(role) || "admin".equals(role);
+            }
+            if (path.matches("/api/events/.*") && (method.equals("PUT") || method.equals("DELETE"))) {
+                return "organizer".equals(role) || "admin".equals(role);
+            }
+            if (path.matches("/api/events/.*/register") && method.equals("POST")) {
+                return "attendee".equals(role);
+            }
+            if (path.matches("/api/users/.*/registrations") && method.equals("GET")) {
+                try {
+                    String[] parts = path.split("/");
+                    return userId == Integer.parseInt(parts[3]) || "admin".equals(role);
+                } catch (Exception e) {
+                    return false;
+                }
+            }
+            if (path.equals("/api/venues") && (method.equals("GET") || method.equals("POST"))) {
+                return "organizer".equals(role) || "admin".equals(role);
+            }
+            if (path.startsWith("/api/organizer/")) {
+                return "organizer".equals(role);
+            }
+            if (path.equals("/api/admin/registrations") && method.equals("GET")) {
+                return "admin".equals(role);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventflow.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load harness for comparing the platform and virtual-thread
+ * server modes. Start the backend twice against the same database, e.g.
+ *
+ * <pre>
+ *   java -Dserver.port=8080 -Dserver.threads=platform -jar target/event-management-backend-1.0.0.jar
+ *   java -Dserver.port=8081 -Dserver.threads=virtual  -jar target/event-management-backend-1.0.0.jar
+ * </pre>
+ *
+ * then run
+ *
+ * <pre>
+ *   mvn -Pbenchmarks compile exec:exec -Dbenchmark.main=com.eventflow.benchmark.ServerModeComparison \
+ *       -Dbenchmark.args="http://localhost:8080/api/events/1 http://localhost:8081/api/events/1 2000 20"
+ * </pre>
+ *
+ * Arguments: one URL per server, then concurrent clients and seconds per run.
+ * Each client sends its next request as soon as the previous one completes.
+ * Reported per URL: throughput, latency percentiles and failures (non-2xx/304
+ * or I/O errors).
+ */
+public class ServerModeComparison {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: ServerModeComparison <url>... <clients> <seconds>");
+            System.exit(1);
+        }
+        int clients = Integer.parseInt(args[args.length - 2]);
+        int seconds = Integer.parseInt(args[args.length - 1]);
+        List<String> urls = Arrays.asList(args).subList(0, args.length - 2);
+
+        System.out.printf("%-45s %10s %9s %9s %9s %9s%n", "url", "req/s", "p50 ms", "p99 ms", "max ms", "failures");
+        for (String url : urls) {
+            run(url, Math.max(1, seconds / 4), clients); // warm-up, not reported
+            Result result = run(url, seconds, clients);
+            System.out.printf("%-45s %10.0f %9.1f %9.1f %9.1f %9d%n", url,
+                    result.count / (double) seconds, result.percentile(50), result.percentile(99),
+                    result.percentile(100), result.failures);
+        }
+    }
+
+    private static Result run(String url, int seconds, int clients) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong failures = new AtomicLong();
+        List<long[]> perClient = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] latencies = new long[1 << 16];
+                perClient.add(latencies);
+                pool.submit(() -> {
+                    int n = 1;
+                    while (System.nanoTime() < deadline && n < latencies.length) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[n++] = System.nanoTime() - start;
+                    }
+                    latencies[0] = n - 1; // slot 0 holds the sample count
+                });
+            }
+        }
+
+        int total = 0;
+        for (long[] latencies : perClient) {
+            total += (int) latencies[0];
+        }
+        long[] all = new long[total];
+        int i = 0;
+        for (long[] latencies : perClient) {
+            System.arraycopy(latencies, 1, all, i, (int) latencies[0]);
+            i += (int) latencies[0];
+        }
+        Arrays.sort(all);
+        return new Result(all, failures.get());
+    }
+
+    private static class Result {
+        final long[] sortedNanos;
+        final long count;
+        final long failures;
+
+        Result(long[] sortedNanos, long failures) {
+            this.sortedNanos = sortedNanos;
+            this.count = sortedNanos.length;
+            this.failures = failures;
+        }
+
+        double percentile(double p) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+}
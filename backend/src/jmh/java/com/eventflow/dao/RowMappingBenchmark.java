@@ -0,0 +1,134 @@
+package com.eventflow.dao;
+
+import com.eventflow.benchmark.CatalogFixtures;
+import com.eventflow.model.Event;
+import com.eventflow.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultSet-to-model mapping in JdbcEventDao and JdbcUserDao without a
+ * database. A JDK CachedRowSet filled with one catalog page stands in for the
+ * driver's result set, so the numbers cover the by-label column lookups and
+ * object construction rather than network or query time. Lives in the dao package
+ * because the mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMappingBenchmark {
+
+    private final JdbcEventDao eventDao = new JdbcEventDao();
+    private final JdbcUserDao userDao = new JdbcUserDao();
+
+    private CachedRowSet eventRows;
+    private CachedRowSet userRows;
+
+    @Setup
+    public void setUp() throws SQLException {
+        eventRows = eventRows(CatalogFixtures.events(CatalogFixtures.PAGE_SIZE));
+        userRows = userRows(CatalogFixtures.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void mapEventPage(Blackhole bh) throws SQLException {
+        eventRows.beforeFirst();
+        while (eventRows.next()) {
+            bh.consume(eventDao.mapEvent(eventRows));
+        }
+    }
+
+    @Benchmark
+    public void mapUserProfiles(Blackhole bh) throws SQLException {
+        userRows.beforeFirst();
+        while (userRows.next()) {
+            bh.consume(userDao.mapProfile(userRows));
+        }
+    }
+
+    // Columns in the order of JdbcEventDao's catalog SELECT
+    private static CachedRowSet eventRows(List<Event> events) throws SQLException {
+        CachedRowSet rows = newRowSet(new Object[][] {
+                {"event_id", Types.INTEGER}, {"title", Types.VARCHAR}, {"description", Types.VARCHAR},
+                {"event_date", Types.DATE}, {"venue_id", Types.INTEGER}, {"created_by", Types.INTEGER},
+                {"created_at", Types.TIMESTAMP}, {"registration_count", Types.INTEGER},
+                {"venue_name", Types.VARCHAR}, {"venue_location", Types.VARCHAR}, {"venue_capacity", Types.INTEGER},
+        });
+        for (Event event : events) {
+            rows.moveToInsertRow();
+            rows.updateInt(1, event.getEventId());
+            rows.updateString(2, event.getTitle());
+            rows.updateString(3, event.getDescription());
+            rows.updateDate(4, event.getEventDate());
+            rows.updateInt(5, event.getVenueId());
+            rows.updateInt(6, event.getCreatedBy());
+            rows.updateTimestamp(7, event.getCreatedAt());
+            rows.updateInt(8, event.getRegistrationCount());
+            if (event.getVenue() != null) {
+                rows.updateString(9, event.getVenue().getName());
+                rows.updateString(10, event.getVenue().getLocation());
+                rows.updateInt(11, event.getVenue().getCapacity());
+            } else {
+                rows.updateNull(9);
+                rows.updateNull(10);
+                rows.updateNull(11);
+            }
+            rows.insertRow();
+        }
+        rows.moveToCurrentRow();
+        return rows;
+    }
+
+    private static CachedRowSet userRows(int count) throws SQLException {
+        CachedRowSet rows = newRowSet(new Object[][] {
+                {"user_id", Types.INTEGER}, {"full_name", Types.VARCHAR}, {"email", Types.VARCHAR},
+                {"role", Types.VARCHAR}, {"created_at", Types.TIMESTAMP},
+        });
+        for (int i = 1; i <= count; i++) {
+            rows.moveToInsertRow();
+            rows.updateInt(1, i);
+            rows.updateString(2, "Attendee Number " + i);
+            rows.updateString(3, "attendee" + i + "@example.com");
+            rows.updateString(4, "attendee");
+            rows.updateTimestamp(5, new Timestamp(1_800_000_000_000L + i * 60_000L));
+            rows.insertRow();
+        }
+        rows.moveToCurrentRow();
+        return rows;
+    }
+
+    private static CachedRowSet newRowSet(Object[][] columns) throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            metaData.setColumnName(i + 1, (String) columns[i][0]);
+            metaData.setColumnLabel(i + 1, (String) columns[i][0]);
+            metaData.setColumnType(i + 1, (Integer) columns[i][1]);
+            metaData.setNullable(i + 1, RowSetMetaDataImpl.columnNullable);
+        }
+        CachedRowSet rows = RowSetProvider.newFactory().createCachedRowSet();
+        rows.setMetaData(metaData);
+        return rows;
+    }
+}
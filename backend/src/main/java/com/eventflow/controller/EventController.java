@@ -1,49 +1,122 @@
 package com.eventflow.controller;
 
+import com.eventflow.json.Json;
 import com.eventflow.model.Event;
+import com.eventflow.model.EventCursor;
+import com.eventflow.model.EventFilter;
+import com.eventflow.model.EventPage;
 import com.eventflow.service.EventService;
+import com.eventflow.util.CachedJson;
+import com.eventflow.util.ResponseCompression;
+import com.eventflow.util.SortedIntSet;
+import com.eventflow.util.SseBroadcaster;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializer;
+import spark.Request;
+import spark.Response;
 import spark.Spark;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 public class EventController {
     private final EventService eventService = new EventService();
 
-    // Configure Gson with custom date deserializer
-    private final Gson gson = new GsonBuilder()
-            .registerTypeAdapter(Date.class, (JsonDeserializer<Date>) (json, typeOfT, context) -> {
-                try {
-                    return Date.valueOf(json.getAsString());
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to parse date: " + json.getAsString(), e);
-                }
-            })
-            .create();
+    private final Gson gson = Json.gson();
 
     public void registerRoutes() {
-        // Get all events
+        // Get a page of events (keyset pagination, optional filters), or the
+        // events named by ?ids=1,2,3 in that order
         Spark.get("/api/events", (req, res) -> {
             res.type("application/json");
             try {
-                return gson.toJson(eventService.getAllEvents());
+                if (req.queryParams("ids") != null) {
+                    return eventsByIds(req, res, parseIds(req.queryParams("ids")));
+                }
+                EventFilter filter = parseFilter(req);
+                Integer userId = req.attribute("userId");
+                res.header("Vary", "Authorization");
+                CachedJson<EventPage> page = eventService.getCachedEvents(filter);
+                if (userId == null) {
+                    return cachedResponse(req, res, page);
+                }
+                return registeredResponse(req, res, page, page.getValue().getEvents(),
+                        eventService.getRegisteredEventIds(userId));
+            } catch (IllegalArgumentException e) {
+                res.status(400);
+                return "{\"message\":\"Invalid query parameter: " + e.getMessage() + "\"}";
             } catch (Exception e) {
                 res.status(500);
                 return "{\"message\":\"Error fetching events: " + e.getMessage() + "\"}";
             }
         });
 
+        // Full-text search over titles and descriptions. Registered before
+        // /api/events/:id so "search" is not taken for an event ID.
+        Spark.get("/api/events/search", (req, res) -> {
+            res.type("application/json");
+            try {
+                String query = req.queryParams("q");
+                if (query == null || query.trim().isEmpty()) {
+                    res.status(400);
+                    return "{\"message\":\"Search query is required\"}";
+                }
+                int limit = req.queryParams("limit") != null
+                        ? Math.max(1, Math.min(Integer.parseInt(req.queryParams("limit")), EventFilter.MAX_LIMIT))
+                        : 20;
+                return ResponseCompression.send(req, res, gson.toJson(eventService.searchEvents(query, limit)));
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return "{\"message\":\"Invalid limit\"}";
+            } catch (Exception e) {
+                res.status(500);
+                return "{\"message\":\"Error searching events: " + e.getMessage() + "\"}";
+            }
+        });
+
+        // Live feed of catalog changes and seat availability (Server-Sent Events).
+        // Registered before /api/events/:id for the same reason as search.
+        Spark.get("/api/events/stream", (req, res) -> openStream(res, () ->
+                eventService.getEventStream().subscribe(req, res, SseBroadcaster.ALL, null)));
+
+        // The same feed for one event, starting with its current seats
+        Spark.get("/api/events/:id/stream", (req, res) -> {
+            try {
+                int id = Integer.parseInt(req.params(":id"));
+                byte[] seats = eventService.getSeatsFrame(id);
+                if (seats == null) {
+                    res.type("application/json");
+                    res.status(404);
+                    return "{\"message\":\"Event not found\"}";
+                }
+                return openStream(res, () -> eventService.getEventStream().subscribe(req, res, id, seats));
+            } catch (NumberFormatException e) {
+                res.type("application/json");
+                res.status(400);
+                return "{\"message\":\"Invalid event ID\"}";
+            }
+        });
+
         // Get event by ID
         Spark.get("/api/events/:id", (req, res) -> {
             res.type("application/json");
             try {
                 int eventId = Integer.parseInt(req.params(":id"));
-                Event event = eventService.getEventById(eventId);
+                Integer userId = req.attribute("userId");
+                res.header("Vary", "Authorization");
+                CachedJson<Event> event = eventService.getCachedEventById(eventId);
 
-                if (event != null) {
-                    return gson.toJson(event);
+                if (event != null && userId != null) {
+                    return registeredResponse(req, res, event, List.of(event.getValue()),
+                            eventService.getRegisteredEventIds(userId));
+                } else if (event != null) {
+                    return cachedResponse(req, res, event);
                 } else {
                     res.status(404);
                     return "{\"message\":\"Event not found\"}";
@@ -125,4 +198,149 @@ public class EventController {
             }
         });
     }
+
+    // Subscribes the response to a broadcaster; false when it is full
+    @FunctionalInterface
+    private interface Subscription {
+        boolean open() throws IOException;
+    }
+
+    // Opens an event stream, or answers 503 when the subscriber limit is reached
+    private Object openStream(Response res, Subscription subscription) {
+        try {
+            if (!subscription.open()) {
+                res.type("application/json");
+                res.status(503);
+                res.header("Retry-After", "5");
+                return "{\"message\":\"Too many open event streams\"}";
+            }
+            return "";
+        } catch (Exception e) {
+            res.type("application/json");
+            res.status(500);
+            return "{\"message\":\"Error opening event stream: " + e.getMessage() + "\"}";
+        }
+    }
+
+    // Serves pre-serialized JSON with its ETag, or a bodiless 304 when the
+    // client already holds the current version.
+    private Object cachedResponse(Request req, Response res, CachedJson<?> cached) throws IOException {
+        ResponseCompression.Encoding encoding = ResponseCompression.choose(req, cached.getBody().length);
+        res.header("Vary", "Accept-Encoding");
+        res.header("ETag", cached.getEtag(encoding));
+        if (cached.matches(req.headers("If-None-Match"))) {
+            res.status(304);
+            return "";
+        }
+        return ResponseCompression.send(res, cached.getBody(encoding), encoding);
+    }
+
+    // Serves a cached event or page to a signed-in user: the shared cached body
+    // with the user's registrations spliced in, a single event getting its own
+    // "registered" flag and a page a "registeredEventIds" list. The ETag extends
+    // the cached one with which of the events are registered, so a 304 needs
+    // neither the splice nor compression.
+    private Object registeredResponse(Request req, Response res, CachedJson<?> cached, List<Event> events,
+                                      SortedIntSet registered) throws IOException {
+        // One hex digit per four events, a bit set for each registered one
+        StringBuilder variant = new StringBuilder("r");
+        StringBuilder registeredIds = new StringBuilder();
+        int bits = 0;
+        for (int i = 0; i < events.size(); i++) {
+            int eventId = events.get(i).getEventId();
+            if (registered.contains(eventId)) {
+                registeredIds.append(registeredIds.length() > 0 ? "," : "").append(eventId);
+                bits |= 1 << (i & 3);
+            }
+            if ((i & 3) == 3 || i == events.size() - 1) {
+                variant.append(Character.forDigit(bits, 16));
+                bits = 0;
+            }
+        }
+
+        ResponseCompression.Encoding encoding = ResponseCompression.choose(req, cached.getBody().length);
+        res.header("Vary", "Accept-Encoding");
+        res.header("ETag", cached.getEtag(encoding, variant.toString()));
+        if (cached.matches(req.headers("If-None-Match"), variant.toString())) {
+            res.status(304);
+            return "";
+        }
+        String field = cached.getValue() instanceof Event
+                ? ",\"registered\":" + (registeredIds.length() > 0)
+                : ",\"registeredEventIds\":[" + registeredIds + "]";
+        byte[] body = withField(cached.getBody(), field);
+        return ResponseCompression.send(res, ResponseCompression.compress(body, encoding), encoding);
+    }
+
+    private Object eventsByIds(Request req, Response res, List<Integer> ids) throws IOException {
+        Integer userId = req.attribute("userId");
+        res.header("Vary", "Authorization");
+        SortedIntSet registered = userId != null ? eventService.getRegisteredEventIds(userId) : null;
+        // Splice the cached bodies together rather than serializing the events again
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        json.write('[');
+        for (CachedJson<Event> event : eventService.getCachedEventsByIds(ids)) {
+            if (json.size() > 1) {
+                json.write(',');
+            }
+            json.write(registered == null ? event.getBody() : withField(event.getBody(),
+                    ",\"registered\":" + registered.contains(event.getValue().getEventId())));
+        }
+        json.write(']');
+        byte[] body = json.toByteArray();
+        ResponseCompression.Encoding encoding = ResponseCompression.choose(req, body.length);
+        res.header("Vary", "Accept-Encoding");
+        return ResponseCompression.send(res, ResponseCompression.compress(body, encoding), encoding);
+    }
+
+    // Adds a field, given as ,"name":value, to the end of a serialized JSON object
+    private static byte[] withField(byte[] object, String field) {
+        byte[] extra = field.getBytes(StandardCharsets.UTF_8);
+        byte[] joined = Arrays.copyOf(object, object.length + extra.length);
+        System.arraycopy(extra, 0, joined, object.length - 1, extra.length);
+        joined[joined.length - 1] = '}';
+        return joined;
+    }
+
+    // Parses ?ids=1,2,3 into distinct ids, in the order given
+    private List<Integer> parseIds(String param) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String id : param.split(",")) {
+            if (!id.trim().isEmpty()) {
+                ids.add(Integer.parseInt(id.trim()));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("ids is empty");
+        }
+        if (ids.size() > EventFilter.MAX_LIMIT) {
+            throw new IllegalArgumentException("at most " + EventFilter.MAX_LIMIT + " ids");
+        }
+        return new ArrayList<>(ids);
+    }
+
+    // Parses ?from=&to=&venueId=&organizerId=&cursor=&limit= into a filter.
+    // NumberFormatException and Date.valueOf failures are IllegalArgumentExceptions.
+    private EventFilter parseFilter(Request req) {
+        EventFilter filter = new EventFilter();
+        if (req.queryParams("from") != null) {
+            filter.setFromDate(Date.valueOf(req.queryParams("from")));
+        }
+        if (req.queryParams("to") != null) {
+            filter.setToDate(Date.valueOf(req.queryParams("to")));
+        }
+        if (req.queryParams("venueId") != null) {
+            filter.setVenueId(Integer.parseInt(req.queryParams("venueId")));
+        }
+        if (req.queryParams("organizerId") != null) {
+            filter.setOrganizerId(Integer.parseInt(req.queryParams("organizerId")));
+        }
+        if (req.queryParams("cursor") != null) {
+            filter.setCursor(EventCursor.decode(req.queryParams("cursor")));
+        }
+        if (req.queryParams("limit") != null) {
+            filter.setLimit(Integer.parseInt(req.queryParams("limit")));
+        }
+        return filter;
+    }
 }
@@ -0,0 +1,31 @@
+package com.eventflow.controller;
+
+import com.eventflow.json.Json;
+import com.eventflow.util.Readiness;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import spark.Spark;
+
+public class HealthController {
+    private final Gson gson = Json.gson();
+
+    public void registerRoutes() {
+        // Readiness probe: 503 until the startup warm-up has finished
+        Spark.get("/health/ready", (req, res) -> {
+            res.type("application/json");
+            res.header("Cache-Control", "no-store");
+            JsonObject body = new JsonObject();
+            if (Readiness.isReady()) {
+                body.addProperty("status", "ready");
+                body.addProperty("readyAfterMs", Readiness.getReadyAfterMillis());
+            } else {
+                res.status(503);
+                res.header("Retry-After", "1");
+                body.addProperty("status", "starting");
+                body.addProperty("phase", Readiness.getCurrentPhase());
+            }
+            body.add("phases", gson.toJsonTree(Readiness.getPhaseMillis()));
+            return gson.toJson(body);
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package com.eventflow.controller;
+
+import com.eventflow.dao.Storage;
+import com.eventflow.service.AuthService;
+import com.eventflow.service.EventService;
+import com.eventflow.service.PasswordHasher;
+import com.eventflow.service.RegistrationService;
+import com.eventflow.service.UserService;
+import com.eventflow.util.HikariCPDataSource;
+import com.eventflow.util.LatencyHistogram;
+import com.eventflow.util.PrometheusText;
+import com.eventflow.util.Readiness;
+import com.eventflow.util.RequestLimiter;
+import com.eventflow.util.RequestMetrics;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import spark.Spark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class MetricsController {
+
+    public void registerRoutes() {
+        // Prometheus scrape endpoint
+        Spark.get("/metrics", (req, res) -> {
+            res.type(PrometheusText.CONTENT_TYPE);
+            StringBuilder out = new StringBuilder(16 * 1024);
+            RequestMetrics.writePrometheus(out);
+            if (Storage.isJdbc()) {
+                writePools(out);
+            }
+            writeServices(out);
+            writeStartup(out);
+            return out.toString();
+        });
+    }
+
+    private void writePools(StringBuilder out) {
+        List<HikariCPDataSource.Pool> pools = new ArrayList<>(2);
+        pools.add(HikariCPDataSource.getPrimary());
+        if (HikariCPDataSource.getReplica() != null) {
+            pools.add(HikariCPDataSource.getReplica());
+        }
+
+        PrometheusText.header(out, "db_pool_connections_active", "gauge", "Connections checked out of the pool.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            HikariPoolMXBean stats = pool.getPoolStats();
+            if (stats != null) {
+                PrometheusText.sample(out, "db_pool_connections_active", label(pool), stats.getActiveConnections());
+            }
+        }
+        PrometheusText.header(out, "db_pool_connections_idle", "gauge", "Open connections waiting in the pool.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            HikariPoolMXBean stats = pool.getPoolStats();
+            if (stats != null) {
+                PrometheusText.sample(out, "db_pool_connections_idle", label(pool), stats.getIdleConnections());
+            }
+        }
+        PrometheusText.header(out, "db_pool_threads_pending", "gauge", "Threads waiting for a connection.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            HikariPoolMXBean stats = pool.getPoolStats();
+            if (stats != null) {
+                PrometheusText.sample(out, "db_pool_threads_pending", label(pool), stats.getThreadsAwaitingConnection());
+            }
+        }
+        PrometheusText.header(out, "db_pool_connections_max", "gauge", "Configured maximum pool size.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            PrometheusText.sample(out, "db_pool_connections_max", label(pool), pool.getMaximumPoolSize());
+        }
+
+        PrometheusText.header(out, "db_pool_acquire_seconds", "summary",
+                "Time taken to check a connection out of the pool.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            LatencyHistogram acquire = pool.getAcquireTime();
+            for (double quantile : new double[] {0.5, 0.99, 0.999}) {
+                PrometheusText.sample(out, "db_pool_acquire_seconds", label(pool) + ",quantile=\"" + quantile + "\"",
+                        acquire.getQuantileMicros(quantile) / 1e6);
+            }
+            PrometheusText.sample(out, "db_pool_acquire_seconds_sum", label(pool), acquire.getSumMicros() / 1e6);
+            PrometheusText.sample(out, "db_pool_acquire_seconds_count", label(pool), acquire.getCount());
+        }
+
+        PrometheusText.header(out, "db_pool_acquire_timeouts_total", "counter",
+                "Checkouts that timed out waiting for a connection.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            PrometheusText.sample(out, "db_pool_acquire_timeouts_total", label(pool), pool.getAcquireTimeouts());
+        }
+        PrometheusText.header(out, "db_pool_waiter_rejections_total", "counter",
+                "Checkouts refused because pool.maxWaiters threads were already waiting.");
+        for (HikariCPDataSource.Pool pool : pools) {
+            PrometheusText.sample(out, "db_pool_waiter_rejections_total", label(pool), pool.getWaiterRejections());
+        }
+    }
+
+    private void writeStartup(StringBuilder out) {
+        PrometheusText.metric(out, "startup_ready", "gauge",
+                "1 once the startup warm-up has finished, as /health/ready reports.", Readiness.isReady() ? 1 : 0);
+        PrometheusText.header(out, "startup_phase_seconds", "gauge", "Time taken by each startup phase.");
+        for (Map.Entry<String, Long> phase : Readiness.getPhaseMillis().entrySet()) {
+            PrometheusText.sample(out, "startup_phase_seconds", "phase=\"" + phase.getKey() + "\"",
+                    phase.getValue() / 1000.0);
+        }
+    }
+
+    private static String label(HikariCPDataSource.Pool pool) {
+        return "pool=\"" + pool.getName() + "\"";
+    }
+
+    private void writeServices(StringBuilder out) {
+        PrometheusText.metric(out, "auth_token_cache_hits_total", "counter",
+                "Tokens answered from the verified-token cache.", AuthService.getTokenCacheHits());
+        PrometheusText.metric(out, "auth_token_cache_misses_total", "counter",
+                "Tokens that had to be verified.", AuthService.getTokenCacheMisses());
+        PrometheusText.metric(out, "auth_token_cache_size", "gauge",
+                "Verified tokens cached.", AuthService.getTokenCacheSize());
+
+        PrometheusText.metric(out, "event_stream_subscribers", "gauge",
+                "Open event streams (SSE).", EventService.getStreamSubscriberCount());
+        PrometheusText.metric(out, "event_stream_dropped_total", "counter",
+                "Event streams closed because the client fell too far behind.", EventService.getStreamDroppedCount());
+
+        PrometheusText.metric(out, "event_loader_lookups_total", "counter",
+                "Event lookups by id that missed the cache.", EventService.getLoaderLookupCount());
+        PrometheusText.metric(out, "event_loader_coalesced_total", "counter",
+                "Event lookups that joined one already pending for the same id.", EventService.getLoaderCoalescedCount());
+        PrometheusText.metric(out, "event_loader_queries_total", "counter",
+                "Batched event queries sent to storage.", EventService.getLoaderQueryCount());
+        PrometheusText.metric(out, "event_owner_index_size", "gauge",
+                "Events in the in-memory owner index.", EventService.getOwnerIndexSize());
+        PrometheusText.metric(out, "event_owner_index_misses_total", "counter",
+                "Ownership checks of events missing from the owner index.", EventService.getOwnerIndexMisses());
+
+        PrometheusText.metric(out, "bcrypt_queue_depth", "gauge",
+                "Password hashes waiting for a hashing thread.", PasswordHasher.getQueueDepth());
+        PrometheusText.metric(out, "bcrypt_active", "gauge",
+                "Password hashes running.", PasswordHasher.getActiveCount());
+        PrometheusText.metric(out, "bcrypt_completed_total", "counter",
+                "Password hashes completed.", PasswordHasher.getCompletedCount());
+        PrometheusText.metric(out, "bcrypt_rejected_total", "counter",
+                "Password hashes refused because the queue was full.", PasswordHasher.getRejectedCount());
+        PrometheusText.metric(out, "bcrypt_hash_seconds_avg", "gauge",
+                "Average time of one password hash.", PasswordHasher.getAverageHashMillis() / 1000);
+        PrometheusText.metric(out, "bcrypt_hash_seconds_max", "gauge",
+                "Longest time of one password hash.", PasswordHasher.getMaxHashMillis() / 1000);
+
+        int permits = RequestLimiter.getAvailablePermits();
+        if (permits >= 0) {
+            PrometheusText.metric(out, "request_limiter_available_permits", "gauge",
+                    "Free slots under server.maxConcurrentRequests.", permits);
+        }
+
+        PrometheusText.metric(out, "export_active", "gauge",
+                "Registrant exports running.", RegistrationService.getActiveExports());
+        PrometheusText.metric(out, "export_rejected_total", "counter",
+                "Registrant exports refused because export.maxConcurrent were running.",
+                RegistrationService.getRejectedExports());
+
+        PrometheusText.metric(out, "user_cache_hits_total", "counter",
+                "User lookups answered from the user cache.", UserService.getUserCacheHits());
+        PrometheusText.metric(out, "user_cache_misses_total", "counter",
+                "User lookups that went to the database.", UserService.getUserCacheMisses());
+        PrometheusText.metric(out, "user_cache_size", "gauge",
+                "Users cached.", UserService.getUserCacheSize());
+    }
+}
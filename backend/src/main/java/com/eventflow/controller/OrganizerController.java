@@ -1,14 +1,31 @@
 package com.eventflow.controller;
 
+import com.eventflow.json.Json;
+import com.eventflow.model.Event;
+import com.eventflow.model.RegistrationDetails;
 import com.eventflow.service.EventService;
 import com.eventflow.service.RegistrationService;
+import com.eventflow.service.ServerBusyException;
+import com.eventflow.util.ExportStreamer;
+import com.eventflow.util.JsonStreamer;
 import com.google.gson.Gson;
 import spark.Spark;
 
+import java.util.List;
+
 public class OrganizerController {
+    private static final List<ExportStreamer.Column<RegistrationDetails>> REGISTRANT_COLUMNS = List.of(
+            new ExportStreamer.Column<>("reg_id", RegistrationDetails::getRegId),
+            new ExportStreamer.Column<>("user_id", RegistrationDetails::getUserId),
+            new ExportStreamer.Column<>("full_name", RegistrationDetails::getFullName),
+            new ExportStreamer.Column<>("email", RegistrationDetails::getEmail),
+            new ExportStreamer.Column<>("status", RegistrationDetails::getStatus),
+            new ExportStreamer.Column<>("waitlist_position", RegistrationDetails::getWaitlistPosition),
+            new ExportStreamer.Column<>("registered_at", RegistrationDetails::getRegisteredAt));
+
     private final EventService eventService = new EventService();
     private final RegistrationService registrationService = new RegistrationService();
-    private final Gson gson = new Gson();
+    private final Gson gson = Json.gson();
 
     public void registerRoutes() {
         // Get all events for the logged-in organizer
@@ -16,7 +33,8 @@ public class OrganizerController {
             res.type("application/json");
             try {
                 int organizerId = req.attribute("userId");
-                return gson.toJson(eventService.getEventsByOrganizerId(organizerId));
+                return JsonStreamer.streamArray(req, res, gson, Event.class,
+                        handler -> eventService.streamEventsByOrganizerId(organizerId, handler));
             } catch (Exception e) {
                 res.status(500);
                 return "{\"message\":\"Error fetching organizer events: " + e.getMessage() + "\"}";
@@ -37,7 +55,8 @@ public class OrganizerController {
                     return "{\"message\":\"Forbidden: You do not own this event.\"}";
                 }
 
-                return gson.toJson(registrationService.getRegistrationDetailsByEventId(eventId));
+                return JsonStreamer.streamArray(req, res, gson, RegistrationDetails.class,
+                        handler -> registrationService.streamRegistrationDetailsByEventId(eventId, handler));
             } catch (NumberFormatException e) {
                 res.status(400);
                 return "{\"message\":\"Invalid event ID\"}";
@@ -46,5 +65,39 @@ public class OrganizerController {
                 return "{\"message\":\"Error fetching event registrations: " + e.getMessage() + "\"}";
             }
         });
+
+        // Download all registrants of an owned event as CSV (default) or NDJSON
+        Spark.get("/api/organizer/events/:id/registrations/export", (req, res) -> {
+            res.type("application/json");
+            try {
+                int organizerId = req.attribute("userId");
+                int eventId = Integer.parseInt(req.params(":id"));
+
+                ExportStreamer.Format format = ExportStreamer.Format.fromParam(req.queryParams("format"));
+                if (format == null) {
+                    res.status(400);
+                    return "{\"message\":\"Unsupported export format\"}";
+                }
+
+                if (!eventService.isEventOwner(organizerId, eventId)) {
+                    res.status(403);
+                    return "{\"message\":\"Forbidden: You do not own this event.\"}";
+                }
+
+                return ExportStreamer.stream(req, res, format, "event-" + eventId + "-registrations",
+                        gson, RegistrationDetails.class, REGISTRANT_COLUMNS,
+                        handler -> registrationService.exportRegistrationDetailsByEventId(eventId, handler));
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return "{\"message\":\"Invalid event ID\"}";
+            } catch (ServerBusyException e) {
+                res.status(503);
+                res.header("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+                return "{\"message\":\"" + e.getMessage() + "\"}";
+            } catch (Exception e) {
+                res.status(500);
+                return "{\"message\":\"Error exporting event registrations: " + e.getMessage() + "\"}";
+            }
+        });
     }
 }
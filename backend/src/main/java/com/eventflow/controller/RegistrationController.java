@@ -1,13 +1,20 @@
 package com.eventflow.controller;
 
+import com.eventflow.dao.DuplicateRegistrationException;
+import com.eventflow.json.Json;
+import com.eventflow.model.Cancellation;
 import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.service.EventFullException;
 import com.eventflow.service.RegistrationService;
+import com.eventflow.util.JsonStreamer;
+import com.eventflow.util.ResponseCompression;
 import com.google.gson.Gson;
 import spark.Spark;
 
 public class RegistrationController {
     private final RegistrationService registrationService = new RegistrationService();
-    private final Gson gson = new Gson();
+    private final Gson gson = Json.gson();
 
     public void registerRoutes() {
         // Register for an event
@@ -25,23 +32,53 @@ public class RegistrationController {
 
                 newRegistration.setEventId(eventId);
                 Registration createdRegistration = registrationService.createRegistration(newRegistration);
+                if (createdRegistration == null) {
+                    res.status(404);
+                    return "{\"message\":\"Event not found\"}";
+                }
                 res.status(201);
                 return gson.toJson(createdRegistration);
             } catch (NumberFormatException e) {
                 res.status(400);
                 return "{\"message\":\"Invalid event ID\"}";
+            } catch (EventFullException | DuplicateRegistrationException e) {
+                res.status(409);
+                return "{\"message\":\"" + e.getMessage() + "\"}";
             } catch (Exception e) {
                 res.status(500);
                 return "{\"message\":\"Error creating registration: " + e.getMessage() + "\"}";
             }
         });
 
+        // Cancel the logged-in user's registration; a freed seat goes to the waitlist
+        Spark.delete("/api/events/:id/register", (req, res) -> {
+            res.type("application/json");
+            try {
+                int eventId = Integer.parseInt(req.params(":id"));
+                int userId = req.attribute("userId");
+
+                Cancellation cancellation = registrationService.cancelRegistration(userId, eventId);
+                if (cancellation == null) {
+                    res.status(404);
+                    return "{\"message\":\"Registration not found\"}";
+                }
+                return "{\"message\":\"Registration cancelled\"}";
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return "{\"message\":\"Invalid event ID\"}";
+            } catch (Exception e) {
+                res.status(500);
+                return "{\"message\":\"Error cancelling registration: " + e.getMessage() + "\"}";
+            }
+        });
+
         // Get a user's registrations
         Spark.get("/api/users/:id/registrations", (req, res) -> {
             res.type("application/json");
             try {
                 int userId = Integer.parseInt(req.params(":id"));
-                return gson.toJson(registrationService.getRegistrationDetailsByUserId(userId));
+                return JsonStreamer.streamArray(req, res, gson, RegistrationDetails.class,
+                        handler -> registrationService.streamRegistrationDetailsByUserId(userId, handler));
             } catch (NumberFormatException e) {
                 res.status(400);
                 return "{\"message\":\"Invalid user ID\"}";
@@ -63,7 +100,8 @@ public class RegistrationController {
                 }
 
                 int eventId = Integer.parseInt(eventIdParam);
-                return gson.toJson(registrationService.getRegistrationsByEventId(eventId));
+                return ResponseCompression.send(req, res,
+                        gson.toJson(registrationService.getRegistrationsByEventId(eventId)));
             } catch (NumberFormatException e) {
                 res.status(400);
                 return "{\"message\":\"Invalid event ID\"}";
@@ -1,13 +1,15 @@
 package com.eventflow.controller;
 
+import com.eventflow.json.Json;
 import com.eventflow.model.User;
+import com.eventflow.service.ServerBusyException;
 import com.eventflow.service.UserService;
 import com.google.gson.Gson;
 import spark.Spark;
 
 public class UserController {
     private final UserService userService = new UserService();
-    private final Gson gson = new Gson();
+    private final Gson gson = Json.gson();
 
     public void registerRoutes() {
         // Register a new user
@@ -37,6 +39,10 @@ public class UserController {
                 createdUser.setPassword(null); // SECURITY: Don't return password
                 res.status(201);
                 return gson.toJson(createdUser);
+            } catch (ServerBusyException e) {
+                res.status(503);
+                res.header("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+                return "{\"message\":\"" + e.getMessage() + "\"}";
             } catch (Exception e) {
                 res.status(500);
                 return "{\"message\":\"Registration failed: " + e.getMessage() + "\"}";
@@ -63,6 +69,10 @@ public class UserController {
                     res.status(401);
                     return "{\"message\":\"Invalid credentials\"}";
                 }
+            } catch (ServerBusyException e) {
+                res.status(503);
+                res.header("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+                return "{\"message\":\"" + e.getMessage() + "\"}";
             } catch (Exception e) {
                 res.status(500);
                 return "{\"message\":\"Login failed: " + e.getMessage() + "\"}";
@@ -92,5 +102,34 @@ public class UserController {
                 return "{\"message\":\"Error fetching user: " + e.getMessage() + "\"}";
             }
         });
+
+        // Update a user's full name (the user themselves, or an admin)
+        Spark.put("/api/users/:id", (req, res) -> {
+            res.type("application/json");
+
+            try {
+                int userId = Integer.parseInt(req.params(":id"));
+                User changes = gson.fromJson(req.body(), User.class);
+
+                if (changes == null || changes.getFullName() == null || changes.getFullName().trim().isEmpty()) {
+                    res.status(400);
+                    return "{\"message\":\"Full name is required\"}";
+                }
+
+                changes.setUserId(userId);
+                User updated = userService.updateUser(changes);
+                if (updated == null) {
+                    res.status(404);
+                    return "{\"message\":\"User not found\"}";
+                }
+                return gson.toJson(updated);
+            } catch (NumberFormatException e) {
+                res.status(400);
+                return "{\"message\":\"Invalid user ID\"}";
+            } catch (Exception e) {
+                res.status(500);
+                return "{\"message\":\"Error updating user: " + e.getMessage() + "\"}";
+            }
+        });
     }
 }
@@ -1,5 +1,6 @@
 package com.eventflow.controller;
 
+import com.eventflow.json.Json;
 import com.eventflow.model.Venue;
 import com.eventflow.service.VenueService;
 import com.google.gson.Gson;
@@ -7,7 +8,7 @@ import spark.Spark;
 
 public class VenueController {
     private final VenueService venueService = new VenueService();
-    private final Gson gson = new Gson();
+    private final Gson gson = Json.gson();
 
     public void registerRoutes() {
         // Get all venues for the logged-in organizer
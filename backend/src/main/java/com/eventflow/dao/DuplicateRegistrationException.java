@@ -0,0 +1,14 @@
+package com.eventflow.dao;
+
+/**
+ * Thrown when a user is already registered for the event, i.e. the
+ * (user_id, event_id) unique constraint rejected the row.
+ */
+public class DuplicateRegistrationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateRegistrationException(String message) {
+        super(message);
+    }
+}
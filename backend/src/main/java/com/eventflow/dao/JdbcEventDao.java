@@ -0,0 +1,390 @@
+package com.eventflow.dao;
+
+import com.eventflow.model.Event;
+import com.eventflow.model.EventCursor;
+import com.eventflow.model.EventFilter;
+import com.eventflow.model.EventPage;
+import com.eventflow.model.Venue;
+import com.eventflow.util.HikariCPDataSource;
+import com.eventflow.util.RowHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class JdbcEventDao implements EventDao {
+
+    private static final String SELECT_EVENTS =
+            "SELECT e.*, v.name as venue_name, v.location as venue_location, v.capacity as venue_capacity " +
+            "FROM public.events e " +
+            "LEFT JOIN public.venues v ON e.venue_id = v.venue_id ";
+    private static final String SELECT_ALL_EVENTS = SELECT_EVENTS + "ORDER BY e.event_date DESC";
+    private static final String SELECT_PAGE = SELECT_EVENTS + "WHERE 1 = 1";
+    // The plain range predicate lets the planner use idx_events_date;
+    // the row comparison breaks ties between events on the same day.
+    private static final String PAGE_AFTER_CURSOR = " AND e.event_date <= ? AND (e.event_date, e.event_id) < (?, ?)";
+    private static final String PAGE_ORDER = " ORDER BY e.event_date DESC, e.event_id DESC LIMIT ?";
+    private static final String SELECT_EVENT_BY_ID = SELECT_EVENTS + "WHERE e.event_id = ?";
+    private static final String SELECT_EVENTS_BY_IDS = SELECT_EVENTS + "WHERE e.event_id = ANY(?)";
+    private static final String SELECT_EVENTS_BY_ORGANIZER =
+            SELECT_EVENTS + "WHERE e.created_by = ? ORDER BY e.event_date DESC";
+    private static final String INSERT_EVENT =
+            "INSERT INTO public.events (title, description, event_date, venue_id, created_by) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_EVENT =
+            "UPDATE public.events SET title = ?, description = ?, event_date = ?, venue_id = ? WHERE event_id = ?";
+    private static final String DELETE_EVENT = "DELETE FROM public.events WHERE event_id = ?";
+    private static final String SELECT_DRIFTED_COUNTS =
+            "SELECT e.event_id FROM public.events e " +
+            "LEFT JOIN public.registrations r ON r.event_id = e.event_id AND r.status = 'confirmed' " +
+            "GROUP BY e.event_id, e.registration_count " +
+            "HAVING e.registration_count <> COUNT(r.reg_id)";
+    private static final String LOCK_EVENT = "SELECT 1 FROM public.events WHERE event_id = ? FOR UPDATE";
+    private static final String REPAIR_COUNT =
+            "UPDATE public.events SET registration_count = " +
+            "(SELECT COUNT(*) FROM public.registrations WHERE event_id = ? AND status = 'confirmed') " +
+            "WHERE event_id = ?";
+
+    /**
+     * Prepares the statements above on {@code conn} the way the methods below
+     * do, so the startup warm-up leaves them parsed on every pooled
+     * connection. Catalog pages are prepared unfiltered, with and without a
+     * cursor, which is how most of them are asked for.
+     */
+    static void prepareStatements(Connection conn) throws SQLException {
+        Storage.describe(conn.prepareStatement(SELECT_ALL_EVENTS));
+        Storage.describe(conn.prepareStatement(SELECT_PAGE + PAGE_ORDER));
+        Storage.describe(conn.prepareStatement(SELECT_PAGE + PAGE_AFTER_CURSOR + PAGE_ORDER));
+        Storage.describe(conn.prepareStatement(SELECT_EVENT_BY_ID));
+        Storage.describe(conn.prepareStatement(SELECT_EVENTS_BY_IDS));
+        Storage.describe(conn.prepareStatement(SELECT_EVENTS_BY_ORGANIZER));
+        Storage.describe(conn.prepareStatement(INSERT_EVENT, PreparedStatement.RETURN_GENERATED_KEYS));
+        Storage.describe(conn.prepareStatement(UPDATE_EVENT));
+        Storage.describe(conn.prepareStatement(DELETE_EVENT));
+        Storage.describe(conn.prepareStatement(SELECT_DRIFTED_COUNTS));
+        Storage.describe(conn.prepareStatement(LOCK_EVENT));
+        Storage.describe(conn.prepareStatement(REPAIR_COUNT));
+    }
+
+    @Override
+    public List<Event> getAllEvents() {
+        List<Event> events = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.EVENTS);
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_ALL_EVENTS);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                Event event = new Event();
+                event.setEventId(rs.getInt("event_id"));
+                event.setTitle(rs.getString("title"));
+                event.setDescription(rs.getString("description"));
+                event.setEventDate(rs.getDate("event_date"));
+                event.setVenueId(rs.getInt("venue_id"));
+                event.setCreatedBy(rs.getInt("created_by"));
+                event.setCreatedAt(rs.getTimestamp("created_at"));
+                event.setRegistrationCount(rs.getInt("registration_count"));
+
+                if (rs.getInt("venue_id") != 0) {
+                    Venue venue = new Venue();
+                    venue.setVenueId(rs.getInt("venue_id"));
+                    venue.setName(rs.getString("venue_name"));
+                    venue.setLocation(rs.getString("venue_location"));
+                    venue.setCapacity(rs.getInt("venue_capacity"));
+                    event.setVenue(venue);
+                }
+
+                events.add(event);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get all events", e);
+        }
+        return events;
+    }
+
+    /**
+     * Keyset-paginated catalog read. Filters are pushed into the WHERE clause so
+     * idx_events_date / idx_events_venue / idx_events_creator can be used, and
+     * the page boundary is a (event_date, event_id) comparison instead of OFFSET.
+     * One extra row is fetched to decide whether a next cursor is returned.
+     */
+    @Override
+    public EventPage getEvents(EventFilter filter) {
+        StringBuilder sql = new StringBuilder(SELECT_PAGE);
+        List<Object> params = new ArrayList<>();
+
+        if (filter.getFromDate() != null) {
+            sql.append(" AND e.event_date >= ?");
+            params.add(filter.getFromDate());
+        }
+        if (filter.getToDate() != null) {
+            sql.append(" AND e.event_date <= ?");
+            params.add(filter.getToDate());
+        }
+        if (filter.getVenueId() != null) {
+            sql.append(" AND e.venue_id = ?");
+            params.add(filter.getVenueId());
+        }
+        if (filter.getOrganizerId() != null) {
+            sql.append(" AND e.created_by = ?");
+            params.add(filter.getOrganizerId());
+        }
+        EventCursor cursor = filter.getCursor();
+        if (cursor != null) {
+            sql.append(PAGE_AFTER_CURSOR);
+            params.add(cursor.getEventDate());
+            params.add(cursor.getEventDate());
+            params.add(cursor.getEventId());
+        }
+        sql.append(PAGE_ORDER);
+        params.add(filter.getLimit() + 1);
+
+        List<Event> events = new ArrayList<>(filter.getLimit() + 1);
+
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.EVENTS);
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapEvent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get events page", e);
+        }
+
+        String nextCursor = null;
+        if (events.size() > filter.getLimit()) {
+            events.remove(events.size() - 1);
+            nextCursor = EventCursor.of(events.get(events.size() - 1)).encode();
+        }
+        return new EventPage(events, nextCursor);
+    }
+
+    @Override
+    public Event getEventById(int id) {
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.EVENTS);
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_EVENT_BY_ID)) {
+
+            pstmt.setInt(1, id);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Event event = new Event();
+                    event.setEventId(rs.getInt("event_id"));
+                    event.setTitle(rs.getString("title"));
+                    event.setDescription(rs.getString("description"));
+                    event.setEventDate(rs.getDate("event_date"));
+                    event.setVenueId(rs.getInt("venue_id"));
+                    event.setCreatedBy(rs.getInt("created_by"));
+                    event.setCreatedAt(rs.getTimestamp("created_at"));
+                    event.setRegistrationCount(rs.getInt("registration_count"));
+
+                    if (rs.getInt("venue_id") != 0) {
+                        Venue venue = new Venue();
+                        venue.setVenueId(rs.getInt("venue_id"));
+                        venue.setName(rs.getString("venue_name"));
+                        venue.setLocation(rs.getString("venue_location"));
+                        venue.setCapacity(rs.getInt("venue_capacity"));
+                        event.setVenue(venue);
+                    }
+                    return event;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get event by ID", e);
+        }
+        return null;
+    }
+
+    /** Returns the events with the given ids in one query, in no particular order. Missing events are left out. */
+    @Override
+    public List<Event> getEventsByIds(Collection<Integer> ids) {
+        List<Event> events = new ArrayList<>(ids.size());
+
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.EVENTS);
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_EVENTS_BY_IDS)) {
+
+            pstmt.setArray(1, conn.createArrayOf("integer", ids.toArray()));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapEvent(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get events by IDs", e);
+        }
+        return events;
+    }
+
+    @Override
+    public Event createEvent(Event event) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_EVENT, PreparedStatement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, event.getTitle());
+            pstmt.setString(2, event.getDescription());
+            pstmt.setDate(3, event.getEventDate());
+            pstmt.setInt(4, event.getVenueId());
+            pstmt.setInt(5, event.getCreatedBy());
+            pstmt.executeUpdate();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    event.setEventId(generatedKeys.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create event", e);
+        }
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.EVENTS);
+        return event;
+    }
+
+    @Override
+    public Event updateEvent(Event event) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_EVENT)) {
+
+            pstmt.setString(1, event.getTitle());
+            pstmt.setString(2, event.getDescription());
+            pstmt.setDate(3, event.getEventDate());
+            pstmt.setInt(4, event.getVenueId());
+            pstmt.setInt(5, event.getEventId());
+
+            int rowsAffected = pstmt.executeUpdate();
+
+            if (rowsAffected == 0) {
+                throw new RuntimeException("Event not found with ID: " + event.getEventId());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to update event", e);
+        }
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.EVENTS);
+        return event;
+    }
+
+    @Override
+    public void deleteEvent(int id) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(DELETE_EVENT)) {
+
+            pstmt.setInt(1, id);
+            int rowsAffected = pstmt.executeUpdate();
+
+            if (rowsAffected == 0) {
+                throw new RuntimeException("Event not found with ID: " + id);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to delete event", e);
+        }
+        // The delete cascades to the event's registrations
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.EVENTS);
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.REGISTRATIONS);
+    }
+
+    @Override
+    public List<Event> getEventsByOrganizerId(int organizerId) {
+        List<Event> events = new ArrayList<>();
+        streamEventsByOrganizerId(organizerId, events::add);
+        return events;
+    }
+
+    @Override
+    public void streamEventsByOrganizerId(int organizerId, RowHandler<Event> handler) {
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.EVENTS)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_EVENTS_BY_ORGANIZER)) {
+                pstmt.setFetchSize(RowHandler.FETCH_SIZE);
+                pstmt.setInt(1, organizerId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(mapEvent(rs));
+                    }
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get events by organizer", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write events by organizer", e);
+        }
+    }
+
+    /**
+     * Repairs events.registration_count where it drifted from the confirmed
+     * registrations, and returns the ids it fixed. Each fix locks the event row
+     * first: every registration change updates that row in its own
+     * transaction, so once the lock is held the count reflects all committed
+     * changes and uncommitted ones wait for the fix to finish.
+     */
+    @Override
+    public List<Integer> repairRegistrationCounts() {
+        List<Integer> repaired = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getConnection()) {
+            List<Integer> drifted = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_DRIFTED_COUNTS);
+                 ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    drifted.add(rs.getInt("event_id"));
+                }
+            }
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement lock = conn.prepareStatement(LOCK_EVENT);
+                 PreparedStatement fix = conn.prepareStatement(REPAIR_COUNT)) {
+                for (int eventId : drifted) {
+                    lock.setInt(1, eventId);
+                    lock.executeQuery().close();
+                    fix.setInt(1, eventId);
+                    fix.setInt(2, eventId);
+                    if (fix.executeUpdate() == 1) {
+                        repaired.add(eventId);
+                    }
+                    conn.commit();
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to repair registration counts", e);
+        }
+        if (!repaired.isEmpty()) {
+            HikariCPDataSource.markWritten(HikariCPDataSource.Table.EVENTS);
+        }
+        return repaired;
+    }
+
+    // Package-private for the row-mapping benchmark
+    Event mapEvent(ResultSet rs) throws SQLException {
+        Event event = new Event();
+        event.setEventId(rs.getInt("event_id"));
+        event.setTitle(rs.getString("title"));
+        event.setDescription(rs.getString("description"));
+        event.setEventDate(rs.getDate("event_date"));
+        event.setVenueId(rs.getInt("venue_id"));
+        event.setCreatedBy(rs.getInt("created_by"));
+        event.setCreatedAt(rs.getTimestamp("created_at"));
+        event.setRegistrationCount(rs.getInt("registration_count"));
+
+        if (rs.getInt("venue_id") != 0) {
+            Venue venue = new Venue();
+            venue.setVenueId(rs.getInt("venue_id"));
+            venue.setName(rs.getString("venue_name"));
+            venue.setLocation(rs.getString("venue_location"));
+            venue.setCapacity(rs.getInt("venue_capacity"));
+            event.setVenue(venue);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,569 @@
+package com.eventflow.dao;
+
+import com.eventflow.model.Cancellation;
+import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.model.SeatUsage;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.HikariCPDataSource;
+import com.eventflow.util.RowHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+public class JdbcRegistrationDao implements RegistrationDao {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    // Group-commit writer shared by all DAO instances; null when batching is off.
+    private static final RegistrationBatchWriter batchWriter = AppConfig.getBoolean("registration.batch.enabled", true)
+            ? new RegistrationBatchWriter(new JdbcRegistrationDao(),
+                    AppConfig.getInt("registration.batch.maxRows", 200),
+                    AppConfig.getInt("registration.batch.lingerMs", 0),
+                    AppConfig.getInt("registration.batch.queueCapacity", 10_000))
+            : null;
+
+    // A cancelled registration is reused when the user signs up again; any other
+    // existing row makes the insert a duplicate and returns nothing.
+    private static final String ON_CONFLICT_REACTIVATE =
+            "ON CONFLICT (user_id, event_id) DO UPDATE " +
+            "SET status = EXCLUDED.status, registered_at = CURRENT_TIMESTAMP " +
+            "WHERE registrations.status = 'cancelled' ";
+
+    // Adds the confirmed rows written by the "written" CTE to events.registration_count,
+    // in the same statement and therefore the same transaction.
+    private static final String COUNT_CONFIRMED =
+            "counted AS (UPDATE public.events e SET registration_count = e.registration_count + c.n " +
+            "  FROM (SELECT event_id, COUNT(*) AS n FROM written WHERE status = 'confirmed' GROUP BY event_id) c " +
+            "  WHERE e.event_id = c.event_id) ";
+
+    private static final String INSERT_REGISTRATION =
+            "WITH written AS (" +
+            "INSERT INTO public.registrations (user_id, event_id, status) VALUES (?, ?, ?) " +
+            ON_CONFLICT_REACTIVATE +
+            "RETURNING reg_id, registered_at, event_id, status), " +
+            COUNT_CONFIRMED +
+            "SELECT reg_id, registered_at, status FROM written";
+    private static final String INSERT_REGISTRATIONS =
+            "WITH written AS (" +
+            "INSERT INTO public.registrations (user_id, event_id, status) " +
+            "SELECT * FROM unnest(?::integer[], ?::integer[], ?::varchar[]) " +
+            ON_CONFLICT_REACTIVATE +
+            "RETURNING reg_id, user_id, event_id, registered_at, status), " +
+            COUNT_CONFIRMED +
+            "SELECT * FROM written";
+    private static final String SELECT_WAITLIST =
+            "SELECT reg_id, user_id, event_id, registered_at FROM public.registrations " +
+            "WHERE status = 'waitlisted' AND event_id = ? " +
+            "ORDER BY event_id, registered_at, reg_id";
+    private static final String SELECT_WAITLISTS =
+            "SELECT reg_id, user_id, event_id, registered_at FROM public.registrations " +
+            "WHERE status = 'waitlisted' " +
+            "ORDER BY event_id, registered_at, reg_id";
+    private static final String LOCK_ACTIVE_REGISTRATION =
+            "SELECT reg_id, status FROM public.registrations " +
+            "WHERE user_id = ? AND event_id = ? AND status <> 'cancelled' FOR UPDATE";
+    private static final String CANCEL_REGISTRATION =
+            "UPDATE public.registrations SET status = 'cancelled' WHERE reg_id = ?";
+    private static final String CONFIRM_WAITLISTED =
+            "UPDATE public.registrations SET status = 'confirmed' " +
+            "WHERE reg_id = ? AND status = 'waitlisted' RETURNING user_id";
+    private static final String UNCOUNT_REGISTRATION =
+            "UPDATE public.events SET registration_count = registration_count - 1 WHERE event_id = ?";
+    private static final String PROMOTE_REGISTRATION =
+            "WITH written AS (" +
+            "UPDATE public.registrations SET status = 'confirmed' " +
+            "WHERE reg_id = ? AND status = 'waitlisted' RETURNING event_id, status), " +
+            COUNT_CONFIRMED +
+            "SELECT COUNT(*) FROM written";
+    private static final String SELECT_BY_USER = "SELECT * FROM public.registrations WHERE user_id = ?";
+    private static final String SELECT_EVENT_IDS_BY_USER =
+            "SELECT event_id FROM public.registrations WHERE user_id = ? AND status <> 'cancelled'";
+    private static final String SELECT_DETAILS_BY_USER =
+            "SELECT r.reg_id, r.registered_at, r.status, e.event_id, e.title, e.description, e.event_date " +
+            "FROM public.registrations r " +
+            "JOIN public.events e ON r.event_id = e.event_id " +
+            "WHERE r.user_id = ? AND r.status <> 'cancelled'";
+    private static final String SELECT_BY_EVENT = "SELECT * FROM public.registrations WHERE event_id = ?";
+    private static final String SELECT_DETAILS_BY_EVENT =
+            "SELECT r.reg_id, r.registered_at, r.status, u.user_id, u.full_name, u.email " +
+            "FROM public.registrations r " +
+            "JOIN public.users u ON r.user_id = u.user_id " +
+            "WHERE r.event_id = ? AND r.status <> 'cancelled' " +
+            "ORDER BY r.registered_at, r.reg_id";
+    private static final String SELECT_SEAT_USAGE =
+            "SELECT e.event_id, v.capacity, " +
+            "(SELECT COUNT(*) FROM public.registrations r " +
+            " WHERE r.event_id = e.event_id AND r.status = 'confirmed') AS confirmed " +
+            "FROM public.events e " +
+            "LEFT JOIN public.venues v ON e.venue_id = v.venue_id ";
+
+    /**
+     * Prepares the statements above on {@code conn} the way the methods below
+     * do, so the startup warm-up leaves them parsed on every pooled connection.
+     */
+    static void prepareStatements(Connection conn) throws SQLException {
+        Storage.describe(conn.prepareStatement(INSERT_REGISTRATION));
+        Storage.describe(conn.prepareStatement(INSERT_REGISTRATIONS));
+        Storage.describe(conn.prepareStatement(SELECT_WAITLIST));
+        Storage.describe(conn.prepareStatement(SELECT_WAITLISTS));
+        Storage.describe(conn.prepareStatement(LOCK_ACTIVE_REGISTRATION));
+        Storage.describe(conn.prepareStatement(CANCEL_REGISTRATION));
+        Storage.describe(conn.prepareStatement(CONFIRM_WAITLISTED));
+        Storage.describe(conn.prepareStatement(UNCOUNT_REGISTRATION));
+        Storage.describe(conn.prepareStatement(PROMOTE_REGISTRATION));
+        Storage.describe(conn.prepareStatement(SELECT_BY_USER));
+        Storage.describe(conn.prepareStatement(SELECT_EVENT_IDS_BY_USER));
+        Storage.describe(conn.prepareStatement(SELECT_DETAILS_BY_USER));
+        Storage.describe(conn.prepareStatement(SELECT_BY_EVENT));
+        Storage.describe(conn.prepareStatement(SELECT_DETAILS_BY_EVENT));
+        Storage.describe(conn.prepareStatement(SELECT_SEAT_USAGE + "WHERE e.event_id = ?"));
+        Storage.describe(conn.prepareStatement(SELECT_SEAT_USAGE + "WHERE e.event_id = ANY(?)"));
+    }
+
+    /**
+     * Inserts a registration, through the group-commit writer unless
+     * {@code registration.batch.enabled} is false. Throws
+     * {@link DuplicateRegistrationException} if the user is already registered.
+     */
+    @Override
+    public Registration createRegistration(Registration registration) {
+        Registration created = batchWriter != null ? batchWriter.insert(registration) : insertRegistration(registration);
+        markWritten();
+        return created;
+    }
+
+    /** Inserts a single registration in its own statement and transaction. */
+    public Registration insertRegistration(Registration registration) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_REGISTRATION)) {
+
+            pstmt.setInt(1, registration.getUserId());
+            pstmt.setInt(2, registration.getEventId());
+            pstmt.setString(3, statusOf(registration));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new DuplicateRegistrationException("User is already registered for this event");
+                }
+                registration.setRegId(rs.getInt("reg_id"));
+                registration.setRegisteredAt(rs.getTimestamp("registered_at"));
+                registration.setStatus(rs.getString("status"));
+            }
+        } catch (SQLException e) {
+            if (UNIQUE_VIOLATION.equals(e.getSQLState())) {
+                throw new DuplicateRegistrationException("User is already registered for this event");
+            }
+            System.err.println("Error creating registration: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to create registration", e);
+        }
+        return registration;
+    }
+
+    /**
+     * Inserts many registrations with one INSERT in a single transaction. The
+     * rows are bound as arrays, so every batch size shares one prepared
+     * statement, and the registration counts of all events in the batch move
+     * with one UPDATE. Rows that collide with an active registration are skipped;
+     * only the written rows come back, carrying their reg_id. A batch naming
+     * the same (user, event) twice fails as a whole.
+     */
+    public List<Registration> insertRegistrations(List<Registration> registrations) throws SQLException {
+        Integer[] userIds = new Integer[registrations.size()];
+        Integer[] eventIds = new Integer[registrations.size()];
+        String[] statuses = new String[registrations.size()];
+        for (int i = 0; i < registrations.size(); i++) {
+            userIds[i] = registrations.get(i).getUserId();
+            eventIds[i] = registrations.get(i).getEventId();
+            statuses[i] = statusOf(registrations.get(i));
+        }
+        List<Registration> inserted = new ArrayList<>(registrations.size());
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_REGISTRATIONS)) {
+
+            pstmt.setArray(1, conn.createArrayOf("integer", userIds));
+            pstmt.setArray(2, conn.createArrayOf("integer", eventIds));
+            pstmt.setArray(3, conn.createArrayOf("varchar", statuses));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Registration registration = new Registration();
+                    registration.setRegId(rs.getInt("reg_id"));
+                    registration.setUserId(rs.getInt("user_id"));
+                    registration.setEventId(rs.getInt("event_id"));
+                    registration.setRegisteredAt(rs.getTimestamp("registered_at"));
+                    registration.setStatus(rs.getString("status"));
+                    inserted.add(registration);
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private static String statusOf(Registration registration) {
+        return registration.getStatus() != null ? registration.getStatus() : Registration.CONFIRMED;
+    }
+
+    /** Waitlisted registrations of an event, oldest first. */
+    @Override
+    public List<Registration> getWaitlist(int eventId) {
+        return queryWaitlist(SELECT_WAITLIST, eventId);
+    }
+
+    /** Waitlisted registrations of all events, grouped by event and oldest first. */
+    @Override
+    public List<Registration> getWaitlists() {
+        return queryWaitlist(SELECT_WAITLISTS, null);
+    }
+
+    private List<Registration> queryWaitlist(String sql, Integer eventId) {
+        List<Registration> waitlist = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            if (eventId != null) {
+                pstmt.setInt(1, eventId);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Registration registration = new Registration();
+                    registration.setRegId(rs.getInt("reg_id"));
+                    registration.setUserId(rs.getInt("user_id"));
+                    registration.setEventId(rs.getInt("event_id"));
+                    registration.setRegisteredAt(rs.getTimestamp("registered_at"));
+                    registration.setStatus(Registration.WAITLISTED);
+                    waitlist.add(registration);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting waitlist: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get waitlist", e);
+        }
+        return waitlist;
+    }
+
+    /**
+     * Cancels a user's active registration. If it held a seat, the seat goes to
+     * the first registration from {@code nextWaitlisted} that is still
+     * waitlisted, in the same transaction. {@code nextWaitlisted} returns
+     * reg_ids in waitlist order and 0 when there are none left.
+     *
+     * @return the outcome, or null if the user has no active registration
+     */
+    @Override
+    public Cancellation cancelRegistration(int userId, int eventId, IntSupplier nextWaitlisted) {
+        try (Connection conn = HikariCPDataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Cancellation cancellation = null;
+                try (PreparedStatement pstmt = conn.prepareStatement(LOCK_ACTIVE_REGISTRATION)) {
+                    pstmt.setInt(1, userId);
+                    pstmt.setInt(2, eventId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (rs.next()) {
+                            cancellation = new Cancellation();
+                            cancellation.setRegId(rs.getInt("reg_id"));
+                            cancellation.setPreviousStatus(rs.getString("status"));
+                        }
+                    }
+                }
+                if (cancellation == null) {
+                    conn.rollback();
+                    return null;
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(CANCEL_REGISTRATION)) {
+                    pstmt.setInt(1, cancellation.getRegId());
+                    pstmt.executeUpdate();
+                }
+
+                if (Registration.CONFIRMED.equals(cancellation.getPreviousStatus())) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(CONFIRM_WAITLISTED)) {
+                        for (int regId = nextWaitlisted.getAsInt(); regId != 0; regId = nextWaitlisted.getAsInt()) {
+                            pstmt.setInt(1, regId);
+                            try (ResultSet rs = pstmt.executeQuery()) {
+                                if (rs.next()) {
+                                    cancellation.setPromotedRegId(regId);
+                                    cancellation.setPromotedUserId(rs.getInt("user_id"));
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                    if (cancellation.getPromotedRegId() == 0) {
+                        try (PreparedStatement pstmt = conn.prepareStatement(UNCOUNT_REGISTRATION)) {
+                            pstmt.setInt(1, eventId);
+                            pstmt.executeUpdate();
+                        }
+                    }
+                }
+                conn.commit();
+                markWritten();
+                return cancellation;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error cancelling registration: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to cancel registration", e);
+        }
+    }
+
+    /** Confirms a registration if it is still waitlisted. Returns false if it no longer was. */
+    @Override
+    public boolean promoteRegistration(int regId) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(PROMOTE_REGISTRATION)) {
+
+            pstmt.setInt(1, regId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                boolean promoted = rs.next() && rs.getInt(1) == 1;
+                markWritten();
+                return promoted;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error promoting registration: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to promote registration", e);
+        }
+    }
+
+    // Registration writes also move events.registration_count, so event reads stay on the primary too
+    private static void markWritten() {
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.REGISTRATIONS);
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.EVENTS);
+    }
+
+    @Override
+    public List<Registration> getRegistrationsByUserId(int userId) {
+        List<Registration> registrations = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_USER)) {
+
+            pstmt.setInt(1, userId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Registration registration = new Registration();
+                    registration.setRegId(rs.getInt("reg_id"));
+                    registration.setUserId(rs.getInt("user_id"));
+                    registration.setEventId(rs.getInt("event_id"));
+                    registration.setRegisteredAt(rs.getTimestamp("registered_at"));
+                    registration.setStatus(rs.getString("status"));
+                    registrations.add(registration);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting registrations by user ID: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get registrations by user ID", e);
+        }
+        return registrations;
+    }
+
+    /** Returns the ids of the events a user holds a confirmed or waitlisted registration for. */
+    @Override
+    public int[] getRegisteredEventIds(int userId) {
+        List<Integer> eventIds = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_EVENT_IDS_BY_USER)) {
+
+            pstmt.setInt(1, userId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    eventIds.add(rs.getInt("event_id"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting registered event IDs: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get registered event IDs", e);
+        }
+        return eventIds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public List<RegistrationDetails> getRegistrationDetailsByUserId(int userId) {
+        List<RegistrationDetails> details = new ArrayList<>();
+        streamRegistrationDetailsByUserId(userId, details::add);
+        return details;
+    }
+
+    /**
+     * Streams a user's registrations through a server-side cursor: autocommit is
+     * turned off so the PostgreSQL driver honours the fetch size instead of
+     * buffering the whole result.
+     */
+    @Override
+    public void streamRegistrationDetailsByUserId(int userId, RowHandler<RegistrationDetails> handler) {
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.REGISTRATIONS)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_DETAILS_BY_USER)) {
+                pstmt.setFetchSize(RowHandler.FETCH_SIZE);
+                pstmt.setInt(1, userId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        RegistrationDetails detail = new RegistrationDetails();
+                        detail.setRegId(rs.getInt("reg_id"));
+                        detail.setRegisteredAt(rs.getTimestamp("registered_at"));
+                        detail.setStatus(rs.getString("status"));
+                        detail.setEventId(rs.getInt("event_id"));
+                        detail.setTitle(rs.getString("title"));
+                        detail.setDescription(rs.getString("description"));
+                        detail.setEventDate(rs.getDate("event_date"));
+                        handler.handle(detail);
+                    }
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            System.err.println("Error getting registration details by user ID: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get registration details by user ID", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write registration details by user ID", e);
+        }
+    }
+
+    @Override
+    public List<Registration> getRegistrationsByEventId(int eventId) {
+        List<Registration> registrations = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_EVENT)) {
+
+            pstmt.setInt(1, eventId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Registration registration = new Registration();
+                    registration.setRegId(rs.getInt("reg_id"));
+                    registration.setUserId(rs.getInt("user_id"));
+                    registration.setEventId(rs.getInt("event_id"));
+                    registration.setRegisteredAt(rs.getTimestamp("registered_at"));
+                    registration.setStatus(rs.getString("status"));
+                    registrations.add(registration);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting registrations by event ID: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get registrations by event ID", e);
+        }
+        return registrations;
+    }
+
+    @Override
+    public List<RegistrationDetails> getRegistrationDetailsByEventId(int eventId) {
+        List<RegistrationDetails> details = new ArrayList<>();
+        streamRegistrationDetailsByEventId(eventId, details::add);
+        return details;
+    }
+
+    @Override
+    public void streamRegistrationDetailsByEventId(int eventId, RowHandler<RegistrationDetails> handler) {
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.REGISTRATIONS)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(SELECT_DETAILS_BY_EVENT)) {
+                pstmt.setFetchSize(RowHandler.FETCH_SIZE);
+                pstmt.setInt(1, eventId);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        RegistrationDetails detail = new RegistrationDetails();
+                        detail.setRegId(rs.getInt("reg_id"));
+                        detail.setRegisteredAt(rs.getTimestamp("registered_at"));
+                        detail.setStatus(rs.getString("status"));
+                        detail.setUserId(rs.getInt("user_id"));
+                        detail.setFullName(rs.getString("full_name"));
+                        detail.setEmail(rs.getString("email"));
+                        handler.handle(detail);
+                    }
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            System.err.println("Error getting registration details by event ID: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get registration details by event ID", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write registration details by event ID", e);
+        }
+    }
+
+    /**
+     * Returns the venue capacity and confirmed registration count of an event,
+     * or null if the event does not exist.
+     */
+    @Override
+    public SeatUsage getSeatUsage(int eventId) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SEAT_USAGE + "WHERE e.event_id = ?")) {
+
+            pstmt.setInt(1, eventId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapSeatUsage(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting seat usage: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get seat usage", e);
+        }
+        return null;
+    }
+
+    /** Same as {@link #getSeatUsage(int)} for many events in one query. Missing events are left out. */
+    @Override
+    public List<SeatUsage> getSeatUsage(Collection<Integer> eventIds) {
+        List<SeatUsage> usage = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_SEAT_USAGE + "WHERE e.event_id = ANY(?)")) {
+
+            Array ids = conn.createArrayOf("integer", eventIds.toArray());
+            pstmt.setArray(1, ids);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    usage.add(mapSeatUsage(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting seat usage: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get seat usage", e);
+        }
+        return usage;
+    }
+
+    private SeatUsage mapSeatUsage(ResultSet rs) throws SQLException {
+        SeatUsage usage = new SeatUsage();
+        usage.setEventId(rs.getInt("event_id"));
+        usage.setCapacity(rs.getInt("capacity"));
+        usage.setConfirmed(rs.getInt("confirmed"));
+        return usage;
+    }
+}
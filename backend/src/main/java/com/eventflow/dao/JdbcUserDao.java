@@ -0,0 +1,137 @@
+package com.eventflow.dao;
+
+import com.eventflow.model.User;
+import com.eventflow.util.HikariCPDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class JdbcUserDao implements UserDao {
+
+    // Everything but the password hash, for reads that only display a user
+    private static final String PROFILE_COLUMNS = "user_id, full_name, email, role, created_at";
+    private static final String INSERT_USER =
+            "INSERT INTO public.users (full_name, email, password, role) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_BY_EMAIL = "SELECT * FROM public.users WHERE email = ?";
+    private static final String SELECT_BY_ID = "SELECT " + PROFILE_COLUMNS + " FROM public.users WHERE user_id = ?";
+    private static final String UPDATE_NAME =
+            "UPDATE public.users SET full_name = ? WHERE user_id = ? RETURNING " + PROFILE_COLUMNS;
+
+    /**
+     * Prepares the statements above on {@code conn} the way the methods below
+     * do, so the startup warm-up leaves them parsed on every pooled connection.
+     */
+    static void prepareStatements(Connection conn) throws SQLException {
+        Storage.describe(conn.prepareStatement(INSERT_USER, PreparedStatement.RETURN_GENERATED_KEYS));
+        Storage.describe(conn.prepareStatement(SELECT_BY_EMAIL));
+        Storage.describe(conn.prepareStatement(SELECT_BY_ID));
+        Storage.describe(conn.prepareStatement(UPDATE_NAME));
+    }
+
+    @Override
+    public User createUser(User user) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_USER, PreparedStatement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, user.getFullName());
+            pstmt.setString(2, user.getEmail());
+            pstmt.setString(3, user.getPassword());
+            pstmt.setString(4, user.getRole() != null ? user.getRole() : "attendee");
+            pstmt.executeUpdate();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    user.setUserId(generatedKeys.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating user: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to create user", e);
+        }
+        return user;
+    }
+
+    @Override
+    public User getUserByEmail(String email) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_EMAIL)) {
+
+            pstmt.setString(1, email);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    User user = new User();
+                    user.setUserId(rs.getInt("user_id"));
+                    user.setFullName(rs.getString("full_name"));
+                    user.setEmail(rs.getString("email"));
+                    user.setPassword(rs.getString("password"));
+                    user.setRole(rs.getString("role"));
+                    user.setCreatedAt(rs.getTimestamp("created_at"));
+                    return user;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting user by email: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get user by email", e);
+        }
+        return null;
+    }
+
+    /** Returns a user without the password hash, or null if there is none. */
+    @Override
+    public User getUserById(int id) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID)) {
+
+            pstmt.setInt(1, id);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapProfile(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting user by ID: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to get user by ID", e);
+        }
+        return null;
+    }
+
+    /** Updates a user's full name. Returns the updated user without its password hash, or null if there is none. */
+    @Override
+    public User updateUser(User user) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(UPDATE_NAME)) {
+
+            pstmt.setString(1, user.getFullName());
+            pstmt.setInt(2, user.getUserId());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapProfile(rs);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error updating user: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Failed to update user", e);
+        }
+        return null;
+    }
+
+    // Package-private for the row-mapping benchmark
+    User mapProfile(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setUserId(rs.getInt("user_id"));
+        user.setFullName(rs.getString("full_name"));
+        user.setEmail(rs.getString("email"));
+        user.setRole(rs.getString("role"));
+        user.setCreatedAt(rs.getTimestamp("created_at"));
+        return user;
+    }
+}
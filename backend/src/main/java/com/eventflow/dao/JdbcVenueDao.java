@@ -0,0 +1,103 @@
+package com.eventflow.dao;
+
+import com.eventflow.model.Venue;
+import com.eventflow.util.HikariCPDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JdbcVenueDao implements VenueDao {
+
+    private static final String INSERT_VENUE =
+            "INSERT INTO public.venues (name, location, capacity, created_by) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_BY_ORGANIZER = "SELECT * FROM public.venues WHERE created_by = ?";
+    private static final String SELECT_BY_ID = "SELECT * FROM public.venues WHERE venue_id = ?";
+
+    /**
+     * Prepares the statements above on {@code conn} the way the methods below
+     * do, so the startup warm-up leaves them parsed on every pooled connection.
+     */
+    static void prepareStatements(Connection conn) throws SQLException {
+        Storage.describe(conn.prepareStatement(INSERT_VENUE, PreparedStatement.RETURN_GENERATED_KEYS));
+        Storage.describe(conn.prepareStatement(SELECT_BY_ORGANIZER));
+        Storage.describe(conn.prepareStatement(SELECT_BY_ID));
+    }
+
+    @Override
+    public Venue createVenue(Venue venue) {
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_VENUE, PreparedStatement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, venue.getName());
+            pstmt.setString(2, venue.getLocation());
+            pstmt.setInt(3, venue.getCapacity());
+            pstmt.setInt(4, venue.getCreatedBy());
+            pstmt.executeUpdate();
+
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    venue.setVenueId(generatedKeys.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to create venue", e);
+        }
+        HikariCPDataSource.markWritten(HikariCPDataSource.Table.VENUES);
+        return venue;
+    }
+
+    @Override
+    public List<Venue> getVenuesByOrganizerId(int organizerId) {
+        List<Venue> venues = new ArrayList<>();
+
+        try (Connection conn = HikariCPDataSource.getReadConnection(HikariCPDataSource.Table.VENUES);
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ORGANIZER)) {
+
+            pstmt.setInt(1, organizerId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Venue venue = new Venue();
+                    venue.setVenueId(rs.getInt("venue_id"));
+                    venue.setName(rs.getString("name"));
+                    venue.setLocation(rs.getString("location"));
+                    venue.setCapacity(rs.getInt("capacity"));
+                    venue.setCreatedBy(rs.getInt("created_by"));
+                    venues.add(venue);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get venues by organizer", e);
+        }
+        return venues;
+    }
+    
+    @Override
+    public Venue getVenueById(int venueId) {
+        Venue venue = null;
+
+        try (Connection conn = HikariCPDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SELECT_BY_ID)) {
+
+            pstmt.setInt(1, venueId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    venue = new Venue();
+                    venue.setVenueId(rs.getInt("venue_id"));
+                    venue.setName(rs.getString("name"));
+                    venue.setLocation(rs.getString("location"));
+                    venue.setCapacity(rs.getInt("capacity"));
+                    venue.setCreatedBy(rs.getInt("created_by"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to get venue by ID", e);
+        }
+        return venue;
+    }
+}
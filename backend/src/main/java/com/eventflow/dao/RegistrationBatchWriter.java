@@ -0,0 +1,170 @@
+package com.eventflow.dao;
+
+import com.eventflow.model.Registration;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit pipeline for registration inserts.
+ *
+ * <p>Callers queue their row and wait. A single writer thread takes whatever
+ * has piled up, up to {@code maxRows}, optionally lingers {@code lingerMillis}
+ * for more, and writes the lot with one INSERT in one transaction. Under a
+ * ticket drop many requests share one connection checkout and one commit.
+ * With no linger a lone request is written at once, so quiet periods add no
+ * latency.
+ *
+ * <p>Each caller still gets its own outcome: its reg_id, or a
+ * {@link DuplicateRegistrationException} when its row was skipped by the
+ * unique constraint. If the batch is refused for its data (say one row
+ * references a missing user, or the same user signs up twice within one
+ * batch), its rows are retried one by one so the error reaches only the
+ * caller that caused it. Any other failure, such as a pool timeout or the
+ * database being down, fails the whole batch at once rather than repeating
+ * it row by row while the queue waits.
+ *
+ * <p>The queue is bounded; when it is full callers block until the writer
+ * catches up.
+ */
+public class RegistrationBatchWriter {
+
+    private final JdbcRegistrationDao registrationDao;
+    private final int maxRows;
+    private final long lingerMillis;
+    private final BlockingQueue<Pending> queue;
+
+    public RegistrationBatchWriter(JdbcRegistrationDao registrationDao, int maxRows, long lingerMillis, int queueCapacity) {
+        this.registrationDao = registrationDao;
+        this.maxRows = Math.max(1, maxRows);
+        this.lingerMillis = Math.max(0, lingerMillis);
+        this.queue = new ArrayBlockingQueue<>(Math.max(this.maxRows, queueCapacity));
+
+        Thread writer = new Thread(this::run, "registration-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Queues a registration and waits until the batch holding it is committed. */
+    public Registration insert(Registration registration) {
+        Pending pending = new Pending(registration);
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing registration", e);
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to create registration", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxRows);
+        while (true) {
+            try {
+                batch.add(queue.take());
+                if (lingerMillis > 0) {
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                    while (batch.size() < maxRows) {
+                        Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, maxRows - batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Error in registration writer: " + e.getMessage());
+                e.printStackTrace();
+                for (Pending pending : batch) {
+                    pending.result.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<Registration> rows = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            rows.add(pending.registration);
+        }
+
+        List<Registration> inserted;
+        try {
+            inserted = registrationDao.insertRegistrations(rows);
+        } catch (SQLException e) {
+            if (!isDataError(e)) {
+                throw new RuntimeException("Failed to create registrations", e);
+            }
+            flushOneByOne(batch);
+            return;
+        }
+
+        Map<Long, Registration> insertedByKey = new HashMap<>();
+        for (Registration registration : inserted) {
+            insertedByKey.put(key(registration), registration);
+        }
+        for (Pending pending : batch) {
+            Registration stored = insertedByKey.remove(key(pending.registration));
+            if (stored == null) {
+                pending.result.completeExceptionally(
+                        new DuplicateRegistrationException("User is already registered for this event"));
+            } else {
+                pending.registration.setRegId(stored.getRegId());
+                pending.registration.setRegisteredAt(stored.getRegisteredAt());
+                pending.registration.setStatus(stored.getStatus());
+                pending.result.complete(pending.registration);
+            }
+        }
+    }
+
+    private void flushOneByOne(List<Pending> batch) {
+        for (Pending pending : batch) {
+            try {
+                pending.result.complete(registrationDao.insertRegistration(pending.registration));
+            } catch (RuntimeException e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Integrity constraint violations (class 23) and cardinality violations
+    // (21000, e.g. ON CONFLICT hitting the same row twice) depend on the rows
+    private static boolean isDataError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("23") || state.equals("21000"));
+    }
+
+    private static long key(Registration registration) {
+        return ((long) registration.getUserId() << 32) | (registration.getEventId() & 0xffffffffL);
+    }
+
+    private static final class Pending {
+        final Registration registration;
+        final CompletableFuture<Registration> result = new CompletableFuture<>();
+
+        Pending(Registration registration) {
+            this.registration = registration;
+        }
+    }
+}
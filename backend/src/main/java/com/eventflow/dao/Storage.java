@@ -0,0 +1,107 @@
+package com.eventflow.dao;
+
+import com.eventflow.dao.memory.MemoryEventDao;
+import com.eventflow.dao.memory.MemoryRegistrationDao;
+import com.eventflow.dao.memory.MemoryStore;
+import com.eventflow.dao.memory.MemoryUserDao;
+import com.eventflow.dao.memory.MemoryVenueDao;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.HikariCPDataSource;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * The storage engine chosen by {@code storage.engine}: {@code jdbc}
+ * (PostgreSQL through the HikariCP pool, the default) or {@code memory}
+ * (process-local tables that start empty and are lost on exit, for
+ * single-node demos and hermetic performance tests). Services take their
+ * DAOs from here, so every caller shares the same engine.
+ */
+public final class Storage {
+
+    public static final String JDBC = "jdbc";
+    public static final String MEMORY = "memory";
+
+    private static final String ENGINE = AppConfig.get("storage.engine", JDBC).trim().toLowerCase();
+
+    private static final EventDao eventDao;
+    private static final RegistrationDao registrationDao;
+    private static final UserDao userDao;
+    private static final VenueDao venueDao;
+
+    static {
+        if (MEMORY.equals(ENGINE)) {
+            MemoryStore store = new MemoryStore();
+            eventDao = new MemoryEventDao(store);
+            registrationDao = new MemoryRegistrationDao(store);
+            userDao = new MemoryUserDao(store);
+            venueDao = new MemoryVenueDao(store);
+        } else if (JDBC.equals(ENGINE)) {
+            eventDao = new JdbcEventDao();
+            registrationDao = new JdbcRegistrationDao();
+            userDao = new JdbcUserDao();
+            venueDao = new JdbcVenueDao();
+        } else {
+            throw new IllegalArgumentException("Unknown storage.engine: " + ENGINE);
+        }
+    }
+
+    private Storage() {}
+
+    public static String getEngine() {
+        return ENGINE;
+    }
+
+    /** True when data lives in PostgreSQL, i.e. the connection pool is in use. */
+    public static boolean isJdbc() {
+        return JDBC.equals(ENGINE);
+    }
+
+    public static EventDao eventDao() {
+        return eventDao;
+    }
+
+    public static RegistrationDao registrationDao() {
+        return registrationDao;
+    }
+
+    public static UserDao userDao() {
+        return userDao;
+    }
+
+    public static VenueDao venueDao() {
+        return venueDao;
+    }
+
+    /**
+     * Startup warm-up: prepares every statement of the JDBC DAOs on each
+     * connection of the pools' minimum idle set, so the first requests do
+     * not pay for parsing them. Does nothing with the memory engine.
+     */
+    public static void prepareStatements() {
+        if (!isJdbc()) {
+            return;
+        }
+        try {
+            HikariCPDataSource.warmConnections(conn -> {
+                JdbcEventDao.prepareStatements(conn);
+                JdbcRegistrationDao.prepareStatements(conn);
+                JdbcUserDao.prepareStatements(conn);
+                JdbcVenueDao.prepareStatements(conn);
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to prepare statements", e);
+        }
+    }
+
+    /**
+     * Has the server parse and describe {@code pstmt} without executing it,
+     * then closes it, which leaves it in the driver's per-connection cache.
+     */
+    static void describe(PreparedStatement pstmt) throws SQLException {
+        try (pstmt) {
+            pstmt.getParameterMetaData();
+        }
+    }
+}
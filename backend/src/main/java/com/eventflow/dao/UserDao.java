@@ -1,93 +1,23 @@
 package com.eventflow.dao;
 
 import com.eventflow.model.User;
-import com.eventflow.util.HikariCPDataSource;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+/**
+ * Storage of users. Only {@link #getUserByEmail(String)}, used to log in,
+ * returns the password hash. Implementations: {@link JdbcUserDao}
+ * (PostgreSQL) and the in-memory engine; {@link Storage} picks one.
+ */
+public interface UserDao {
 
-public class UserDao {
+    /** Inserts the user (role attendee when unset) and sets its generated id. Throws if the email is taken. */
+    User createUser(User user);
 
-    public User createUser(User user) {
-        String sql = "INSERT INTO public.users (full_name, email, password, role) VALUES (?, ?, ?, ?)";
+    /** Returns the user with the password hash, or null if there is none. */
+    User getUserByEmail(String email);
 
-        try (Connection conn = HikariCPDataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+    /** Returns a user without the password hash, or null if there is none. */
+    User getUserById(int id);
 
-            pstmt.setString(1, user.getFullName());
-            pstmt.setString(2, user.getEmail());
-            pstmt.setString(3, user.getPassword());
-            pstmt.setString(4, user.getRole() != null ? user.getRole() : "attendee");
-            pstmt.executeUpdate();
-
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    user.setUserId(generatedKeys.getInt(1));
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error creating user: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to create user", e);
-        }
-        return user;
-    }
-
-    public User getUserByEmail(String email) {
-        String sql = "SELECT * FROM public.users WHERE email = ?";
-
-        try (Connection conn = HikariCPDataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, email);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = new User();
-                    user.setUserId(rs.getInt("user_id"));
-                    user.setFullName(rs.getString("full_name"));
-                    user.setEmail(rs.getString("email"));
-                    user.setPassword(rs.getString("password"));
-                    user.setRole(rs.getString("role"));
-                    user.setCreatedAt(rs.getTimestamp("created_at"));
-                    return user;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting user by email: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to get user by email", e);
-        }
-        return null;
-    }
-
-    public User getUserById(int id) {
-        String sql = "SELECT * FROM public.users WHERE user_id = ?";
-
-        try (Connection conn = HikariCPDataSource.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, id);
-
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = new User();
-                    user.setUserId(rs.getInt("user_id"));
-                    user.setFullName(rs.getString("full_name"));
-                    user.setEmail(rs.getString("email"));
-                    user.setPassword(rs.getString("password"));
-                    user.setRole(rs.getString("role"));
-                    user.setCreatedAt(rs.getTimestamp("created_at"));
-                    return user;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting user by ID: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to get user by ID", e);
-        }
-        return null;
-    }
+    /** Updates a user's full name. Returns the updated user without its password hash, or null if there is none. */
+    User updateUser(User user);
 }
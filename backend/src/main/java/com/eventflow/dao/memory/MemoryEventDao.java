@@ -0,0 +1,253 @@
+package com.eventflow.dao.memory;
+
+import com.eventflow.dao.EventDao;
+import com.eventflow.dao.memory.MemoryStore.EventRow;
+import com.eventflow.dao.memory.MemoryStore.RegistrationRow;
+import com.eventflow.model.Event;
+import com.eventflow.model.EventCursor;
+import com.eventflow.model.EventFilter;
+import com.eventflow.model.EventPage;
+import com.eventflow.model.Registration;
+import com.eventflow.util.RowHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class MemoryEventDao implements EventDao {
+
+    private final MemoryStore store;
+
+    public MemoryEventDao(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Event> getAllEvents() {
+        List<Event> events = new ArrayList<>(store.events.size());
+        for (long key : store.eventsByDate.descendingSet()) {
+            EventRow row = store.events.get(MemoryStore.eventIdOf(key));
+            if (row != null && row.dateKey() == key) {
+                events.add(store.toEvent(row));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Keyset-paginated catalog read. The organizer or venue index is walked
+     * when the filter names one, the date index otherwise; the date range and
+     * cursor become bounds on that walk, so a page costs one seek plus the
+     * rows it returns.
+     */
+    @Override
+    public EventPage getEvents(EventFilter filter) {
+        NavigableSet<Long> index = store.eventsByDate;
+        if (filter.getOrganizerId() != null) {
+            index = store.eventsByOrganizer.get(filter.getOrganizerId());
+        } else if (filter.getVenueId() != null) {
+            index = store.eventsByVenue.get(filter.getVenueId());
+        }
+
+        long low = filter.getFromDate() != null ? MemoryStore.dateKey(filter.getFromDate(), 0) : Long.MIN_VALUE;
+        long high = filter.getToDate() != null ? MemoryStore.dateKey(filter.getToDate(), -1) : Long.MAX_VALUE;
+        boolean highInclusive = true;
+        EventCursor cursor = filter.getCursor();
+        if (cursor != null) {
+            long after = MemoryStore.dateKey(cursor.getEventDate(), cursor.getEventId());
+            if (after <= high) {
+                high = after;
+                highInclusive = false;
+            }
+        }
+
+        List<Event> events = new ArrayList<>(filter.getLimit() + 1);
+        if (index != null && low <= high) {
+            for (long key : index.subSet(low, true, high, highInclusive).descendingSet()) {
+                EventRow row = store.events.get(MemoryStore.eventIdOf(key));
+                if (row == null || row.dateKey() != key
+                        || (filter.getOrganizerId() != null && row.createdBy() != filter.getOrganizerId())
+                        || (filter.getVenueId() != null && row.venueId() != filter.getVenueId())) {
+                    continue;
+                }
+                events.add(store.toEvent(row));
+                if (events.size() > filter.getLimit()) {
+                    break;
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (events.size() > filter.getLimit()) {
+            events.remove(events.size() - 1);
+            nextCursor = EventCursor.of(events.get(events.size() - 1)).encode();
+        }
+        return new EventPage(events, nextCursor);
+    }
+
+    @Override
+    public Event getEventById(int id) {
+        EventRow row = store.events.get(id);
+        return row != null ? store.toEvent(row) : null;
+    }
+
+    @Override
+    public List<Event> getEventsByIds(Collection<Integer> ids) {
+        List<Event> events = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            EventRow row = store.events.get(id);
+            if (row != null) {
+                events.add(store.toEvent(row));
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public Event createEvent(Event event) {
+        synchronized (store.writeLock) {
+            checkReferences(event, "Failed to create event");
+            if (!store.users.containsKey(event.getCreatedBy())) {
+                throw new RuntimeException("Failed to create event: no user with ID " + event.getCreatedBy());
+            }
+            EventRow row = new EventRow(store.eventIds.incrementAndGet(), event.getTitle(), event.getDescription(),
+                    event.getEventDate().toLocalDate().toEpochDay(), event.getVenueId(), event.getCreatedBy(),
+                    System.currentTimeMillis(), 0);
+            store.events.put(row.eventId(), row);
+            addToIndexes(row);
+            event.setEventId(row.eventId());
+        }
+        return event;
+    }
+
+    @Override
+    public Event updateEvent(Event event) {
+        synchronized (store.writeLock) {
+            EventRow old = store.events.get(event.getEventId());
+            if (old == null) {
+                throw new RuntimeException("Event not found with ID: " + event.getEventId());
+            }
+            checkReferences(event, "Failed to update event");
+            EventRow row = new EventRow(old.eventId(), event.getTitle(), event.getDescription(),
+                    event.getEventDate().toLocalDate().toEpochDay(), event.getVenueId(), old.createdBy(),
+                    old.createdAt(), old.registrationCount());
+            addToIndexes(row);
+            store.events.put(row.eventId(), row);
+            if (old.dateKey() != row.dateKey() || old.venueId() != row.venueId()) {
+                removeFromIndexes(old, row);
+            }
+        }
+        return event;
+    }
+
+    @Override
+    public void deleteEvent(int id) {
+        synchronized (store.writeLock) {
+            EventRow row = store.events.get(id);
+            if (row == null) {
+                throw new RuntimeException("Event not found with ID: " + id);
+            }
+            removeFromIndexes(row, null);
+            store.events.remove(id);
+
+            // ON DELETE CASCADE
+            ConcurrentSkipListMap<Long, Integer> registrations = store.registrationsByEvent.remove(id);
+            if (registrations != null) {
+                for (int regId : registrations.values()) {
+                    RegistrationRow registration = store.registrations.remove(regId);
+                    store.registrationIdsByUserEvent.remove(
+                            MemoryStore.userEventKey(registration.userId(), registration.eventId()));
+                    MemoryStore.index(store.registrationsByUser, registration.userId()).remove(regId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Event> getEventsByOrganizerId(int organizerId) {
+        List<Event> events = new ArrayList<>();
+        streamEventsByOrganizerId(organizerId, events::add);
+        return events;
+    }
+
+    @Override
+    public void streamEventsByOrganizerId(int organizerId, RowHandler<Event> handler) {
+        NavigableSet<Long> index = store.eventsByOrganizer.get(organizerId);
+        if (index == null) {
+            return;
+        }
+        try {
+            for (long key : index.descendingSet()) {
+                EventRow row = store.events.get(MemoryStore.eventIdOf(key));
+                if (row != null && row.dateKey() == key && row.createdBy() == organizerId) {
+                    handler.handle(store.toEvent(row));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write events by organizer", e);
+        }
+    }
+
+    /**
+     * Counts only change under the write lock together with the registration
+     * that moves them, so they cannot drift; this checks anyway, so the
+     * repair job reports the same thing for both engines.
+     */
+    @Override
+    public List<Integer> repairRegistrationCounts() {
+        List<Integer> repaired = new ArrayList<>();
+        synchronized (store.writeLock) {
+            for (EventRow row : store.events.values()) {
+                int confirmed = 0;
+                ConcurrentSkipListMap<Long, Integer> registrations = store.registrationsByEvent.get(row.eventId());
+                if (registrations != null) {
+                    for (int regId : registrations.values()) {
+                        if (Registration.CONFIRMED.equals(store.registrations.get(regId).status())) {
+                            confirmed++;
+                        }
+                    }
+                }
+                if (confirmed != row.registrationCount()) {
+                    store.events.put(row.eventId(), row.withRegistrationCount(confirmed));
+                    repaired.add(row.eventId());
+                }
+            }
+        }
+        Collections.sort(repaired);
+        return repaired;
+    }
+
+    // NOT NULL event_date and the venue_id foreign key
+    private void checkReferences(Event event, String message) {
+        if (event.getEventDate() == null) {
+            throw new RuntimeException(message + ": event date is required");
+        }
+        if (!store.venues.containsKey(event.getVenueId())) {
+            throw new RuntimeException(message + ": no venue with ID " + event.getVenueId());
+        }
+    }
+
+    private void addToIndexes(EventRow row) {
+        store.eventsByDate.add(row.dateKey());
+        MemoryStore.index(store.eventsByOrganizer, row.createdBy()).add(row.dateKey());
+        MemoryStore.index(store.eventsByVenue, row.venueId()).add(row.dateKey());
+    }
+
+    // Drops the keys of old that the replacement (null when deleting) no longer uses
+    private void removeFromIndexes(EventRow old, EventRow replacement) {
+        long key = old.dateKey();
+        boolean sameKey = replacement != null && replacement.dateKey() == key;
+        if (!sameKey) {
+            store.eventsByDate.remove(key);
+            MemoryStore.index(store.eventsByOrganizer, old.createdBy()).remove(key);
+        }
+        if (!sameKey || replacement.venueId() != old.venueId()) {
+            MemoryStore.index(store.eventsByVenue, old.venueId()).remove(key);
+        }
+    }
+}
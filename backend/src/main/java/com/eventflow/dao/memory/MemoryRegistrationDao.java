@@ -0,0 +1,296 @@
+package com.eventflow.dao.memory;
+
+import com.eventflow.dao.DuplicateRegistrationException;
+import com.eventflow.dao.RegistrationDao;
+import com.eventflow.dao.memory.MemoryStore.EventRow;
+import com.eventflow.dao.memory.MemoryStore.RegistrationRow;
+import com.eventflow.dao.memory.MemoryStore.UserRow;
+import com.eventflow.dao.memory.MemoryStore.VenueRow;
+import com.eventflow.model.Cancellation;
+import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.model.SeatUsage;
+import com.eventflow.util.RowHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.IntSupplier;
+
+public class MemoryRegistrationDao implements RegistrationDao {
+
+    private final MemoryStore store;
+
+    public MemoryRegistrationDao(MemoryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Inserts a registration, or reactivates the user's cancelled one for the
+     * event, and moves the event's count when it is confirmed. Throws
+     * {@link DuplicateRegistrationException} if the user is already registered.
+     */
+    @Override
+    public Registration createRegistration(Registration registration) {
+        String status = registration.getStatus() != null ? registration.getStatus() : Registration.CONFIRMED;
+        long key = MemoryStore.userEventKey(registration.getUserId(), registration.getEventId());
+
+        synchronized (store.writeLock) {
+            if (!store.users.containsKey(registration.getUserId())
+                    || !store.events.containsKey(registration.getEventId())) {
+                throw new RuntimeException("Failed to create registration: no such user or event");
+            }
+            Integer existingId = store.registrationIdsByUserEvent.get(key);
+            RegistrationRow existing = existingId != null ? store.registrations.get(existingId) : null;
+            if (existing != null && !Registration.CANCELLED.equals(existing.status())) {
+                throw new DuplicateRegistrationException("User is already registered for this event");
+            }
+
+            int regId = existing != null ? existing.regId() : store.regIds.incrementAndGet();
+            RegistrationRow row = new RegistrationRow(regId, registration.getUserId(), registration.getEventId(),
+                    System.currentTimeMillis(), status, ++store.registrationSequence);
+            ConcurrentSkipListMap<Long, Integer> byEvent = store.registrationsByEvent
+                    .computeIfAbsent(row.eventId(), id -> new ConcurrentSkipListMap<>());
+
+            store.registrations.put(regId, row);
+            byEvent.put(row.sequence(), regId);
+            if (existing != null) {
+                byEvent.remove(existing.sequence());
+            } else {
+                store.registrationIdsByUserEvent.put(key, regId);
+                MemoryStore.index(store.registrationsByUser, row.userId()).add(regId);
+            }
+            if (Registration.CONFIRMED.equals(status)) {
+                store.addToRegistrationCount(row.eventId(), 1);
+            }
+
+            registration.setRegId(regId);
+            registration.setRegisteredAt(new Timestamp(row.registeredAt()));
+            registration.setStatus(status);
+        }
+        return registration;
+    }
+
+    @Override
+    public List<Registration> getWaitlist(int eventId) {
+        List<Registration> waitlist = new ArrayList<>();
+        addWaitlist(eventId, waitlist);
+        return waitlist;
+    }
+
+    @Override
+    public List<Registration> getWaitlists() {
+        List<Registration> waitlist = new ArrayList<>();
+        for (int eventId : new TreeSet<>(store.registrationsByEvent.keySet())) {
+            addWaitlist(eventId, waitlist);
+        }
+        return waitlist;
+    }
+
+    private void addWaitlist(int eventId, List<Registration> waitlist) {
+        ConcurrentSkipListMap<Long, Integer> byEvent = store.registrationsByEvent.get(eventId);
+        if (byEvent == null) {
+            return;
+        }
+        for (int regId : byEvent.values()) {
+            RegistrationRow row = store.registrations.get(regId);
+            if (row != null && Registration.WAITLISTED.equals(row.status())) {
+                waitlist.add(MemoryStore.toRegistration(row));
+            }
+        }
+    }
+
+    @Override
+    public Cancellation cancelRegistration(int userId, int eventId, IntSupplier nextWaitlisted) {
+        synchronized (store.writeLock) {
+            Integer regId = store.registrationIdsByUserEvent.get(MemoryStore.userEventKey(userId, eventId));
+            RegistrationRow row = regId != null ? store.registrations.get(regId) : null;
+            if (row == null || Registration.CANCELLED.equals(row.status())) {
+                return null;
+            }
+
+            Cancellation cancellation = new Cancellation();
+            cancellation.setRegId(row.regId());
+            cancellation.setPreviousStatus(row.status());
+            store.registrations.put(row.regId(), row.withStatus(Registration.CANCELLED));
+
+            if (Registration.CONFIRMED.equals(row.status())) {
+                for (int next = nextWaitlisted.getAsInt(); next != 0; next = nextWaitlisted.getAsInt()) {
+                    RegistrationRow waiting = store.registrations.get(next);
+                    if (waiting != null && Registration.WAITLISTED.equals(waiting.status())) {
+                        store.registrations.put(next, waiting.withStatus(Registration.CONFIRMED));
+                        cancellation.setPromotedRegId(next);
+                        cancellation.setPromotedUserId(waiting.userId());
+                        break;
+                    }
+                }
+                // A promotion takes over the seat, so the count only drops without one
+                if (cancellation.getPromotedRegId() == 0) {
+                    store.addToRegistrationCount(eventId, -1);
+                }
+            }
+            return cancellation;
+        }
+    }
+
+    @Override
+    public boolean promoteRegistration(int regId) {
+        synchronized (store.writeLock) {
+            RegistrationRow row = store.registrations.get(regId);
+            if (row == null || !Registration.WAITLISTED.equals(row.status())) {
+                return false;
+            }
+            store.registrations.put(regId, row.withStatus(Registration.CONFIRMED));
+            store.addToRegistrationCount(row.eventId(), 1);
+            return true;
+        }
+    }
+
+    @Override
+    public List<Registration> getRegistrationsByUserId(int userId) {
+        List<Registration> registrations = new ArrayList<>();
+        NavigableSet<Integer> regIds = store.registrationsByUser.get(userId);
+        if (regIds != null) {
+            for (int regId : regIds) {
+                RegistrationRow row = store.registrations.get(regId);
+                if (row != null) {
+                    registrations.add(MemoryStore.toRegistration(row));
+                }
+            }
+        }
+        return registrations;
+    }
+
+    @Override
+    public int[] getRegisteredEventIds(int userId) {
+        List<Integer> eventIds = new ArrayList<>();
+        NavigableSet<Integer> regIds = store.registrationsByUser.get(userId);
+        if (regIds != null) {
+            for (int regId : regIds) {
+                RegistrationRow row = store.registrations.get(regId);
+                if (row != null && !Registration.CANCELLED.equals(row.status())) {
+                    eventIds.add(row.eventId());
+                }
+            }
+        }
+        return eventIds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    public List<RegistrationDetails> getRegistrationDetailsByUserId(int userId) {
+        List<RegistrationDetails> details = new ArrayList<>();
+        streamRegistrationDetailsByUserId(userId, details::add);
+        return details;
+    }
+
+    @Override
+    public void streamRegistrationDetailsByUserId(int userId, RowHandler<RegistrationDetails> handler) {
+        NavigableSet<Integer> regIds = store.registrationsByUser.get(userId);
+        if (regIds == null) {
+            return;
+        }
+        try {
+            for (int regId : regIds) {
+                RegistrationRow row = store.registrations.get(regId);
+                EventRow event = row != null ? store.events.get(row.eventId()) : null;
+                if (event == null || Registration.CANCELLED.equals(row.status())) {
+                    continue;
+                }
+                RegistrationDetails detail = new RegistrationDetails();
+                detail.setRegId(row.regId());
+                detail.setRegisteredAt(new Timestamp(row.registeredAt()));
+                detail.setStatus(row.status());
+                detail.setEventId(event.eventId());
+                detail.setTitle(event.title());
+                detail.setDescription(event.description());
+                detail.setEventDate(Date.valueOf(LocalDate.ofEpochDay(event.eventDay())));
+                handler.handle(detail);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write registration details by user ID", e);
+        }
+    }
+
+    @Override
+    public List<Registration> getRegistrationsByEventId(int eventId) {
+        List<Registration> registrations = new ArrayList<>();
+        ConcurrentSkipListMap<Long, Integer> byEvent = store.registrationsByEvent.get(eventId);
+        if (byEvent != null) {
+            for (int regId : byEvent.values()) {
+                RegistrationRow row = store.registrations.get(regId);
+                if (row != null) {
+                    registrations.add(MemoryStore.toRegistration(row));
+                }
+            }
+        }
+        return registrations;
+    }
+
+    @Override
+    public List<RegistrationDetails> getRegistrationDetailsByEventId(int eventId) {
+        List<RegistrationDetails> details = new ArrayList<>();
+        streamRegistrationDetailsByEventId(eventId, details::add);
+        return details;
+    }
+
+    @Override
+    public void streamRegistrationDetailsByEventId(int eventId, RowHandler<RegistrationDetails> handler) {
+        ConcurrentSkipListMap<Long, Integer> byEvent = store.registrationsByEvent.get(eventId);
+        if (byEvent == null) {
+            return;
+        }
+        try {
+            for (int regId : byEvent.values()) {
+                RegistrationRow row = store.registrations.get(regId);
+                UserRow user = row != null ? store.users.get(row.userId()) : null;
+                if (user == null || Registration.CANCELLED.equals(row.status())) {
+                    continue;
+                }
+                RegistrationDetails detail = new RegistrationDetails();
+                detail.setRegId(row.regId());
+                detail.setRegisteredAt(new Timestamp(row.registeredAt()));
+                detail.setStatus(row.status());
+                detail.setUserId(user.userId());
+                detail.setFullName(user.fullName());
+                detail.setEmail(user.email());
+                handler.handle(detail);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write registration details by event ID", e);
+        }
+    }
+
+    @Override
+    public SeatUsage getSeatUsage(int eventId) {
+        EventRow event = store.events.get(eventId);
+        if (event == null) {
+            return null;
+        }
+        VenueRow venue = store.venues.get(event.venueId());
+        SeatUsage usage = new SeatUsage();
+        usage.setEventId(eventId);
+        usage.setCapacity(venue != null ? venue.capacity() : 0);
+        usage.setConfirmed(event.registrationCount());
+        return usage;
+    }
+
+    @Override
+    public List<SeatUsage> getSeatUsage(Collection<Integer> eventIds) {
+        List<SeatUsage> usage = new ArrayList<>(eventIds.size());
+        for (int eventId : eventIds) {
+            SeatUsage one = getSeatUsage(eventId);
+            if (one != null) {
+                usage.add(one);
+            }
+        }
+        return usage;
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventflow.dao.memory;
+
+import com.eventflow.model.Event;
+import com.eventflow.model.Registration;
+import com.eventflow.model.User;
+import com.eventflow.model.Venue;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tables and secondary indexes of the in-memory storage engine, shared by
+ * its four DAOs.
+ *
+ * <p>Rows are immutable records in concurrent maps keyed by id, so reads
+ * never lock and never see half of a write. Writes hold {@link #writeLock}:
+ * uniqueness checks, foreign keys and changes spanning several rows (a
+ * registration and its event's count, an event and its registrations) are
+ * then atomic with respect to each other, the way a transaction makes them
+ * in PostgreSQL.
+ *
+ * <p>Secondary indexes hold keys only and are resolved through the primary
+ * maps, so replacing a row (a new registration count, say) leaves them
+ * alone. Events are indexed by {@link #dateKey}, which packs
+ * (event_date, event_id) into one long that sorts like the catalog, globally
+ * and per organizer and venue. A key is added before and removed after the
+ * row it points to changes, and readers skip keys whose row no longer
+ * matches, so a concurrent reader never repeats an event. It can miss one
+ * whose date moves during the walk: the new key may land where the walk has
+ * already been, and the old key is skipped once the row is replaced.
+ */
+public final class MemoryStore {
+
+    final Object writeLock = new Object();
+
+    final AtomicInteger userIds = new AtomicInteger();
+    final AtomicInteger venueIds = new AtomicInteger();
+    final AtomicInteger eventIds = new AtomicInteger();
+    final AtomicInteger regIds = new AtomicInteger();
+    long registrationSequence; // guarded by writeLock
+
+    final ConcurrentHashMap<Integer, UserRow> users = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, Integer> userIdsByEmail = new ConcurrentHashMap<>();
+
+    final ConcurrentHashMap<Integer, VenueRow> venues = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Integer>> venuesByOrganizer = new ConcurrentHashMap<>();
+
+    final ConcurrentHashMap<Integer, EventRow> events = new ConcurrentHashMap<>();
+    final ConcurrentSkipListSet<Long> eventsByDate = new ConcurrentSkipListSet<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Long>> eventsByOrganizer = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Long>> eventsByVenue = new ConcurrentHashMap<>();
+
+    final ConcurrentHashMap<Integer, RegistrationRow> registrations = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Long, Integer> registrationIdsByUserEvent = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<Integer>> registrationsByUser = new ConcurrentHashMap<>();
+    // Per event: registration sequence -> reg_id, i.e. registered_at order
+    final ConcurrentHashMap<Integer, ConcurrentSkipListMap<Long, Integer>> registrationsByEvent = new ConcurrentHashMap<>();
+
+    record UserRow(int userId, String fullName, String email, String password, String role, long createdAt) {}
+
+    record VenueRow(int venueId, String name, String location, int capacity, int createdBy) {}
+
+    record EventRow(int eventId, String title, String description, long eventDay, int venueId,
+                    int createdBy, long createdAt, int registrationCount) {
+
+        long dateKey() {
+            return MemoryStore.dateKey(eventDay, eventId);
+        }
+
+        EventRow withRegistrationCount(int count) {
+            return new EventRow(eventId, title, description, eventDay, venueId, createdBy, createdAt, count);
+        }
+    }
+
+    // sequence orders an event's registrations the way (registered_at, reg_id) does
+    record RegistrationRow(int regId, int userId, int eventId, long registeredAt, String status, long sequence) {
+
+        RegistrationRow withStatus(String newStatus) {
+            return new RegistrationRow(regId, userId, eventId, registeredAt, newStatus, sequence);
+        }
+    }
+
+    /** Packs (event_date, event_id) into a long that sorts by date, then id. */
+    static long dateKey(long eventDay, int eventId) {
+        return (eventDay << 32) | (eventId & 0xffffffffL);
+    }
+
+    static long dateKey(Date date, int eventId) {
+        return dateKey(date.toLocalDate().toEpochDay(), eventId);
+    }
+
+    static int eventIdOf(long dateKey) {
+        return (int) dateKey;
+    }
+
+    static long userEventKey(int userId, int eventId) {
+        return ((long) userId << 32) | (eventId & 0xffffffffL);
+    }
+
+    static <T> ConcurrentSkipListSet<T> index(ConcurrentHashMap<Integer, ConcurrentSkipListSet<T>> indexes, int key) {
+        ConcurrentSkipListSet<T> index = indexes.get(key);
+        return index != null ? index : indexes.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>());
+    }
+
+    // Called with writeLock held
+    void addToRegistrationCount(int eventId, int delta) {
+        EventRow row = events.get(eventId);
+        if (row != null) {
+            events.put(eventId, row.withRegistrationCount(row.registrationCount() + delta));
+        }
+    }
+
+    Event toEvent(EventRow row) {
+        Event event = new Event();
+        event.setEventId(row.eventId());
+        event.setTitle(row.title());
+        event.setDescription(row.description());
+        event.setEventDate(Date.valueOf(LocalDate.ofEpochDay(row.eventDay())));
+        event.setVenueId(row.venueId());
+        event.setCreatedBy(row.createdBy());
+        event.setCreatedAt(new Timestamp(row.createdAt()));
+        event.setRegistrationCount(row.registrationCount());
+
+        VenueRow venue = venues.get(row.venueId());
+        if (venue != null) {
+            Venue joined = new Venue();
+            joined.setVenueId(venue.venueId());
+            joined.setName(venue.name());
+            joined.setLocation(venue.location());
+            joined.setCapacity(venue.capacity());
+            event.setVenue(joined);
+        }
+        return event;
+    }
+
+    static Venue toVenue(VenueRow row) {
+        Venue venue = new Venue();
+        venue.setVenueId(row.venueId());
+        venue.setName(row.name());
+        venue.setLocation(row.location());
+        venue.setCapacity(row.capacity());
+        venue.setCreatedBy(row.createdBy());
+        return venue;
+    }
+
+    static User toUser(UserRow row, boolean withPassword) {
+        User user = new User();
+        user.setUserId(row.userId());
+        user.setFullName(row.fullName());
+        user.setEmail(row.email());
+        user.setRole(row.role());
+        user.setCreatedAt(new Timestamp(row.createdAt()));
+        if (withPassword) {
+            user.setPassword(row.password());
+        }
+        return user;
+    }
+
+    static Registration toRegistration(RegistrationRow row) {
+        Registration registration = new Registration();
+        registration.setRegId(row.regId());
+        registration.setUserId(row.userId());
+        registration.setEventId(row.eventId());
+        registration.setRegisteredAt(new Timestamp(row.registeredAt()));
+        registration.setStatus(row.status());
+        return registration;
+    }
+}
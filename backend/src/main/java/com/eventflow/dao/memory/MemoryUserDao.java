@@ -0,0 +1,59 @@
+package com.eventflow.dao.memory;
+
+import com.eventflow.dao.UserDao;
+import com.eventflow.dao.memory.MemoryStore.UserRow;
+import com.eventflow.model.User;
+
+
+public class MemoryUserDao implements UserDao {
+
+    private final MemoryStore store;
+
+    public MemoryUserDao(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public User createUser(User user) {
+        synchronized (store.writeLock) {
+            // UNIQUE(email)
+            if (store.userIdsByEmail.containsKey(user.getEmail())) {
+                throw new RuntimeException("Failed to create user: email already registered");
+            }
+            UserRow row = new UserRow(store.userIds.incrementAndGet(), user.getFullName(), user.getEmail(),
+                    user.getPassword(), user.getRole() != null ? user.getRole() : "attendee",
+                    System.currentTimeMillis());
+            store.users.put(row.userId(), row);
+            store.userIdsByEmail.put(row.email(), row.userId());
+            user.setUserId(row.userId());
+        }
+        return user;
+    }
+
+    @Override
+    public User getUserByEmail(String email) {
+        Integer userId = store.userIdsByEmail.get(email);
+        UserRow row = userId != null ? store.users.get(userId) : null;
+        return row != null ? MemoryStore.toUser(row, true) : null;
+    }
+
+    @Override
+    public User getUserById(int id) {
+        UserRow row = store.users.get(id);
+        return row != null ? MemoryStore.toUser(row, false) : null;
+    }
+
+    @Override
+    public User updateUser(User user) {
+        synchronized (store.writeLock) {
+            UserRow old = store.users.get(user.getUserId());
+            if (old == null) {
+                return null;
+            }
+            UserRow row = new UserRow(old.userId(), user.getFullName(), old.email(), old.password(), old.role(),
+                    old.createdAt());
+            store.users.put(row.userId(), row);
+            return MemoryStore.toUser(row, false);
+        }
+    }
+}
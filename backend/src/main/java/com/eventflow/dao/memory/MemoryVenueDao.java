@@ -0,0 +1,57 @@
+package com.eventflow.dao.memory;
+
+import com.eventflow.dao.VenueDao;
+import com.eventflow.dao.memory.MemoryStore.VenueRow;
+import com.eventflow.model.Venue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+
+public class MemoryVenueDao implements VenueDao {
+
+    private final MemoryStore store;
+
+    public MemoryVenueDao(MemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Venue createVenue(Venue venue) {
+        synchronized (store.writeLock) {
+            if (venue.getCapacity() <= 0) {
+                throw new RuntimeException("Failed to create venue: capacity must be positive");
+            }
+            if (!store.users.containsKey(venue.getCreatedBy())) {
+                throw new RuntimeException("Failed to create venue: no user with ID " + venue.getCreatedBy());
+            }
+            VenueRow row = new VenueRow(store.venueIds.incrementAndGet(), venue.getName(), venue.getLocation(),
+                    venue.getCapacity(), venue.getCreatedBy());
+            store.venues.put(row.venueId(), row);
+            MemoryStore.index(store.venuesByOrganizer, row.createdBy()).add(row.venueId());
+            venue.setVenueId(row.venueId());
+        }
+        return venue;
+    }
+
+    @Override
+    public List<Venue> getVenuesByOrganizerId(int organizerId) {
+        List<Venue> venues = new ArrayList<>();
+        NavigableSet<Integer> venueIds = store.venuesByOrganizer.get(organizerId);
+        if (venueIds != null) {
+            for (int venueId : venueIds) {
+                VenueRow row = store.venues.get(venueId);
+                if (row != null) {
+                    venues.add(MemoryStore.toVenue(row));
+                }
+            }
+        }
+        return venues;
+    }
+
+    @Override
+    public Venue getVenueById(int venueId) {
+        VenueRow row = store.venues.get(venueId);
+        return row != null ? MemoryStore.toVenue(row) : null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.eventflow.json;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.TimeZone;
+
+/**
+ * ISO-8601 text for the JDBC date types, written digit by digit into one
+ * char array rather than through a formatter or java.time objects.
+ * Dates are {@code yyyy-MM-dd} in the JVM zone, the zone java.sql.Date
+ * itself is defined in; timestamps are UTC instants with milliseconds,
+ * {@code yyyy-MM-ddTHH:mm:ss.SSSZ}.
+ */
+final class IsoDates {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    // TimeZone.getDefault() returns a copy each call, so look it up once
+    private static final TimeZone ZONE = TimeZone.getDefault();
+
+    private IsoDates() {}
+
+    static String formatDate(Date date) {
+        long millis = date.getTime();
+        long day = Math.floorDiv(millis + ZONE.getOffset(millis), MILLIS_PER_DAY);
+        char[] text = new char[10];
+        if (!writeDate(text, day)) {
+            return date.toLocalDate().toString();
+        }
+        return new String(text);
+    }
+
+    static String formatTimestamp(Timestamp timestamp) {
+        long millis = timestamp.getTime();
+        long day = Math.floorDiv(millis, MILLIS_PER_DAY);
+        char[] text = new char[24];
+        if (!writeDate(text, day)) {
+            return Instant.ofEpochMilli(millis).toString();
+        }
+        int millisOfDay = (int) Math.floorMod(millis, MILLIS_PER_DAY);
+        text[10] = 'T';
+        writeDigits(text, 11, 2, millisOfDay / 3_600_000);
+        text[13] = ':';
+        writeDigits(text, 14, 2, millisOfDay / 60_000 % 60);
+        text[16] = ':';
+        writeDigits(text, 17, 2, millisOfDay / 1000 % 60);
+        text[19] = '.';
+        writeDigits(text, 20, 3, millisOfDay % 1000);
+        text[23] = 'Z';
+        return new String(text);
+    }
+
+    static Date parseDate(String text) {
+        try {
+            return Date.valueOf(text);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse date: " + text, e);
+        }
+    }
+
+    static Timestamp parseTimestamp(String text) {
+        try {
+            return Timestamp.from(Instant.parse(text));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse timestamp: " + text, e);
+        }
+    }
+
+    /**
+     * Writes the civil date of an epoch day as {@code yyyy-MM-dd} at the
+     * start of {@code text}, using the days-to-civil conversion from Howard
+     * Hinnant's date algorithms. Returns false for years outside 0000-9999,
+     * which need a sign or more digits.
+     */
+    private static boolean writeDate(char[] text, long epochDay) {
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return false;
+        }
+        writeDigits(text, 0, 4, (int) year);
+        text[4] = '-';
+        writeDigits(text, 5, 2, month);
+        text[7] = '-';
+        writeDigits(text, 8, 2, day);
+        return true;
+    }
+
+    private static void writeDigits(char[] text, int offset, int width, int value) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
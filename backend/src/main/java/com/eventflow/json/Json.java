@@ -0,0 +1,85 @@
+package com.eventflow.json;
+
+import com.eventflow.model.Event;
+import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.model.User;
+import com.eventflow.model.Venue;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * The one Gson every controller, cache and streamer uses. The API models go
+ * through the hand-written adapters in {@link ModelAdapters} instead of
+ * reflection, and dates and timestamps are written as ISO-8601 strings.
+ * Gson instances are thread-safe, so sharing one also shares its adapter
+ * cache.
+ */
+public final class Json {
+
+    private static final Gson GSON = createGson();
+
+    private Json() {}
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    private static Gson createGson() {
+        ModelAdapters.VenueAdapter venues = new ModelAdapters.VenueAdapter();
+        return new GsonBuilder()
+                .registerTypeAdapter(Venue.class, venues)
+                .registerTypeAdapter(Event.class, new ModelAdapters.EventAdapter(venues))
+                .registerTypeAdapter(User.class, new ModelAdapters.UserAdapter())
+                .registerTypeAdapter(Registration.class, new ModelAdapters.RegistrationAdapter())
+                .registerTypeAdapter(RegistrationDetails.class, new ModelAdapters.RegistrationDetailsAdapter())
+                // For dates outside the models, e.g. in ad-hoc maps
+                .registerTypeAdapter(Date.class, new TypeAdapter<Date>() {
+                    @Override
+                    public void write(JsonWriter out, Date value) throws IOException {
+                        if (value == null) {
+                            out.nullValue();
+                        } else {
+                            out.value(IsoDates.formatDate(value));
+                        }
+                    }
+
+                    @Override
+                    public Date read(JsonReader in) throws IOException {
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            return null;
+                        }
+                        return IsoDates.parseDate(in.nextString());
+                    }
+                })
+                .registerTypeAdapter(Timestamp.class, new TypeAdapter<Timestamp>() {
+                    @Override
+                    public void write(JsonWriter out, Timestamp value) throws IOException {
+                        if (value == null) {
+                            out.nullValue();
+                        } else {
+                            out.value(IsoDates.formatTimestamp(value));
+                        }
+                    }
+
+                    @Override
+                    public Timestamp read(JsonReader in) throws IOException {
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            return null;
+                        }
+                        return IsoDates.parseTimestamp(in.nextString());
+                    }
+                })
+                .create();
+    }
+}
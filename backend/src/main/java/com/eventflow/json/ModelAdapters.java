@@ -0,0 +1,305 @@
+package com.eventflow.json;
+
+import com.eventflow.model.Event;
+import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.model.User;
+import com.eventflow.model.Venue;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Hand-written Gson adapters for the API models. They produce what Gson's
+ * reflective adapter did for the same classes (fields in declaration order,
+ * null fields left out, unknown names skipped on read) except that dates and
+ * timestamps are ISO-8601 strings, see {@link IsoDates}.
+ *
+ * <p>When a model gains a field, its adapter has to gain it too.
+ */
+final class ModelAdapters {
+
+    private ModelAdapters() {}
+
+    static final class VenueAdapter extends TypeAdapter<Venue> {
+        @Override
+        public void write(JsonWriter out, Venue venue) throws IOException {
+            if (venue == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("venueId").value(venue.getVenueId());
+            writeString(out, "name", venue.getName());
+            writeString(out, "location", venue.getLocation());
+            out.name("capacity").value(venue.getCapacity());
+            out.name("createdBy").value(venue.getCreatedBy());
+            out.endObject();
+        }
+
+        @Override
+        public Venue read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Venue venue = new Venue();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "venueId" -> venue.setVenueId(in.nextInt());
+                    case "name" -> venue.setName(in.nextString());
+                    case "location" -> venue.setLocation(in.nextString());
+                    case "capacity" -> venue.setCapacity(in.nextInt());
+                    case "createdBy" -> venue.setCreatedBy(in.nextInt());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return venue;
+        }
+    }
+
+    static final class EventAdapter extends TypeAdapter<Event> {
+        private final VenueAdapter venues;
+
+        EventAdapter(VenueAdapter venues) {
+            this.venues = venues;
+        }
+
+        @Override
+        public void write(JsonWriter out, Event event) throws IOException {
+            if (event == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("eventId").value(event.getEventId());
+            writeString(out, "title", event.getTitle());
+            writeString(out, "description", event.getDescription());
+            if (event.getEventDate() != null) {
+                out.name("eventDate").value(IsoDates.formatDate(event.getEventDate()));
+            }
+            out.name("venueId").value(event.getVenueId());
+            out.name("createdBy").value(event.getCreatedBy());
+            if (event.getCreatedAt() != null) {
+                out.name("createdAt").value(IsoDates.formatTimestamp(event.getCreatedAt()));
+            }
+            if (event.getVenue() != null) {
+                out.name("venue");
+                venues.write(out, event.getVenue());
+            }
+            out.name("registrationCount").value(event.getRegistrationCount());
+            out.endObject();
+        }
+
+        @Override
+        public Event read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Event event = new Event();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "eventId" -> event.setEventId(in.nextInt());
+                    case "title" -> event.setTitle(in.nextString());
+                    case "description" -> event.setDescription(in.nextString());
+                    case "eventDate" -> event.setEventDate(IsoDates.parseDate(in.nextString()));
+                    case "venueId" -> event.setVenueId(in.nextInt());
+                    case "createdBy" -> event.setCreatedBy(in.nextInt());
+                    case "createdAt" -> event.setCreatedAt(IsoDates.parseTimestamp(in.nextString()));
+                    case "venue" -> event.setVenue(venues.read(in));
+                    case "registrationCount" -> event.setRegistrationCount(in.nextInt());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return event;
+        }
+    }
+
+    /**
+     * Reads the password (registration and login bodies carry it) but never
+     * writes it, so a hash cannot leak through a response that forgot to
+     * clear it.
+     */
+    static final class UserAdapter extends TypeAdapter<User> {
+        @Override
+        public void write(JsonWriter out, User user) throws IOException {
+            if (user == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("userId").value(user.getUserId());
+            writeString(out, "fullName", user.getFullName());
+            writeString(out, "email", user.getEmail());
+            writeString(out, "role", user.getRole());
+            if (user.getCreatedAt() != null) {
+                out.name("createdAt").value(IsoDates.formatTimestamp(user.getCreatedAt()));
+            }
+            out.endObject();
+        }
+
+        @Override
+        public User read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            User user = new User();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "userId" -> user.setUserId(in.nextInt());
+                    case "fullName" -> user.setFullName(in.nextString());
+                    case "email" -> user.setEmail(in.nextString());
+                    case "password" -> user.setPassword(in.nextString());
+                    case "role" -> user.setRole(in.nextString());
+                    case "createdAt" -> user.setCreatedAt(IsoDates.parseTimestamp(in.nextString()));
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return user;
+        }
+    }
+
+    static final class RegistrationAdapter extends TypeAdapter<Registration> {
+        @Override
+        public void write(JsonWriter out, Registration registration) throws IOException {
+            if (registration == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("regId").value(registration.getRegId());
+            out.name("userId").value(registration.getUserId());
+            out.name("eventId").value(registration.getEventId());
+            if (registration.getRegisteredAt() != null) {
+                out.name("registeredAt").value(IsoDates.formatTimestamp(registration.getRegisteredAt()));
+            }
+            writeString(out, "status", registration.getStatus());
+            if (registration.getWaitlistPosition() != null) {
+                out.name("waitlistPosition").value(registration.getWaitlistPosition().intValue());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public Registration read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Registration registration = new Registration();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "regId" -> registration.setRegId(in.nextInt());
+                    case "userId" -> registration.setUserId(in.nextInt());
+                    case "eventId" -> registration.setEventId(in.nextInt());
+                    case "registeredAt" -> registration.setRegisteredAt(IsoDates.parseTimestamp(in.nextString()));
+                    case "status" -> registration.setStatus(in.nextString());
+                    case "waitlistPosition" -> registration.setWaitlistPosition(in.nextInt());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return registration;
+        }
+    }
+
+    static final class RegistrationDetailsAdapter extends TypeAdapter<RegistrationDetails> {
+        @Override
+        public void write(JsonWriter out, RegistrationDetails details) throws IOException {
+            if (details == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("regId").value(details.getRegId());
+            if (details.getRegisteredAt() != null) {
+                out.name("registeredAt").value(IsoDates.formatTimestamp(details.getRegisteredAt()));
+            }
+            writeString(out, "status", details.getStatus());
+            if (details.getWaitlistPosition() != null) {
+                out.name("waitlistPosition").value(details.getWaitlistPosition().intValue());
+            }
+            out.name("eventId").value(details.getEventId());
+            writeString(out, "title", details.getTitle());
+            writeString(out, "description", details.getDescription());
+            if (details.getEventDate() != null) {
+                out.name("eventDate").value(IsoDates.formatDate(details.getEventDate()));
+            }
+            out.name("userId").value(details.getUserId());
+            writeString(out, "fullName", details.getFullName());
+            writeString(out, "email", details.getEmail());
+            out.endObject();
+        }
+
+        @Override
+        public RegistrationDetails read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            RegistrationDetails details = new RegistrationDetails();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "regId" -> details.setRegId(in.nextInt());
+                    case "registeredAt" -> details.setRegisteredAt(IsoDates.parseTimestamp(in.nextString()));
+                    case "status" -> details.setStatus(in.nextString());
+                    case "waitlistPosition" -> details.setWaitlistPosition(in.nextInt());
+                    case "eventId" -> details.setEventId(in.nextInt());
+                    case "title" -> details.setTitle(in.nextString());
+                    case "description" -> details.setDescription(in.nextString());
+                    case "eventDate" -> details.setEventDate(IsoDates.parseDate(in.nextString()));
+                    case "userId" -> details.setUserId(in.nextInt());
+                    case "fullName" -> details.setFullName(in.nextString());
+                    case "email" -> details.setEmail(in.nextString());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return details;
+        }
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+}
@@ -1,17 +1,73 @@
 package com.eventflow.main;
 
 import com.eventflow.controller.EventController;
+import com.eventflow.controller.HealthController;
+import com.eventflow.controller.MetricsController;
 import com.eventflow.controller.RegistrationController;
 import com.eventflow.controller.UserController;
 import com.eventflow.controller.VenueController;
 import com.eventflow.controller.OrganizerController;
+import com.eventflow.dao.Storage;
+import com.eventflow.service.EventService;
+import com.eventflow.service.RegistrationService;
+import com.eventflow.util.AppConfig;
 import com.eventflow.util.AuthMiddleware;
+import com.eventflow.util.HikariCPDataSource;
+import com.eventflow.util.Readiness;
+import com.eventflow.util.RequestLimiter;
+import com.eventflow.util.RequestMetrics;
+import com.eventflow.util.VirtualThreadPool;
 import spark.Spark;
+import spark.embeddedserver.EmbeddedServers;
+import spark.embeddedserver.jetty.EmbeddedJettyFactory;
 
 public class Main {
     public static void main(String[] args) {
         // Set port
-        Spark.port(8080);
+        int port = AppConfig.getInt("server.port", 8080);
+        Spark.port(port);
+
+        // Request threads: Jetty's bounded pool by default, or one virtual thread
+        // per task, in which case the connection pool becomes the concurrency limit
+        String threadMode = AppConfig.get("server.threads", "platform");
+        if ("virtual".equalsIgnoreCase(threadMode)) {
+            EmbeddedServers.add(EmbeddedServers.defaultIdentifier(),
+                    new EmbeddedJettyFactory().withThreadPool(new VirtualThreadPool()));
+        } else if (AppConfig.get("server.maxThreads") != null) {
+            Spark.threadPool(AppConfig.getInt("server.maxThreads", 200));
+        }
+
+        // Startup runs in timed phases; /health/ready answers 200 once all have run.
+        // Connections and statements are warmed first, so the index builds use them too.
+        boolean warmup = AppConfig.getBoolean("startup.warmup.enabled", true);
+        if (warmup && Storage.isJdbc()) {
+            Readiness.phase("pool", HikariCPDataSource::openPools);
+            Readiness.phase("statements", Storage::prepareStatements);
+        }
+
+        // Build in-memory indexes before the first route is mapped (which starts Jetty)
+        EventService eventService = new EventService();
+        Readiness.phase("indexes", () -> {
+            eventService.buildIndexes();
+            eventService.startRegistrationCountRepair();
+            new RegistrationService().loadWaitlists();
+        });
+
+        Readiness.phase("server", Main::startServer);
+
+        // Jetty is up but the serialization paths are still cold; /health/ready says so meanwhile
+        int warmupIterations = AppConfig.getInt("startup.warmup.iterations", 100);
+        if (warmup && warmupIterations > 0) {
+            Readiness.phase("serialization", () -> SerializationWarmup.run(warmupIterations));
+        }
+        Readiness.markReady();
+
+        System.out.println("Server is running on port " + port + " (" + threadMode + " threads)");
+    }
+
+    private static void startServer() {
+        // Request metrics first, so their timing covers every other filter
+        RequestMetrics.enableRequestMetrics();
 
         // IMPORTANT: Handle OPTIONS requests BEFORE other routes
         Spark.options("/*", (request, response) -> {
@@ -29,20 +85,30 @@ public class Main {
             return "OK";
         });
 
-        // Enable CORS for all routes
-        Spark.after((request, response) -> {
+        // Enable CORS for all routes. Set before the handler runs: streamed
+        // responses are committed before any after-filter gets a chance.
+        Spark.before((request, response) -> {
             response.header("Access-Control-Allow-Origin", "http://localhost:5173");
             response.header("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
             response.header("Access-Control-Allow-Headers", "Content-Type, Authorization, Accept");
             response.header("Access-Control-Allow-Credentials", "true");
         });
 
+        // Optional in-flight request cap, checked before any auth work
+        int maxConcurrentRequests = AppConfig.getInt("server.maxConcurrentRequests", 0);
+        if (maxConcurrentRequests > 0) {
+            RequestLimiter.enableRequestLimiter(maxConcurrentRequests,
+                    AppConfig.getInt("server.maxRequestWaitMs", 100));
+        }
+
         // Initialize controllers
         UserController userController = new UserController();
         EventController eventController = new EventController();
         RegistrationController registrationController = new RegistrationController();
         VenueController venueController = new VenueController();
         OrganizerController organizerController = new OrganizerController();
+        MetricsController metricsController = new MetricsController();
+        HealthController healthController = new HealthController();
 
         // Register routes
         userController.registerRoutes();
@@ -50,10 +116,22 @@ public class Main {
         registrationController.registerRoutes();
         venueController.registerRoutes();
         organizerController.registerRoutes();
+        metricsController.registerRoutes();
+        healthController.registerRoutes();
 
         // Enable auth middleware
         AuthMiddleware.enableAuthMiddleware();
 
-        System.out.println("Server is running on port 8080");
+        // Read-your-writes is kept per user, so bind each request to the user
+        // the auth filter above found. Only matters with a read replica.
+        if (Storage.isJdbc() && AppConfig.get("db.read.url") != null) {
+            Spark.before((request, response) -> HikariCPDataSource.bindClient(request.attribute("userId")));
+            Spark.afterAfter((request, response) -> HikariCPDataSource.unbindClient());
+        }
+
+        // All routes are mapped: label metrics by their templates
+        RequestMetrics.indexRoutes();
+
+        Spark.awaitInitialization();
     }
 }
@@ -0,0 +1,155 @@
+package com.eventflow.main;
+
+import com.eventflow.json.Json;
+import com.eventflow.model.Event;
+import com.eventflow.model.EventCursor;
+import com.eventflow.model.EventPage;
+import com.eventflow.model.Registration;
+import com.eventflow.model.RegistrationDetails;
+import com.eventflow.model.User;
+import com.eventflow.model.Venue;
+import com.eventflow.util.CachedJson;
+import com.eventflow.util.ResponseCompression;
+import com.eventflow.util.SseBroadcaster;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The serialization part of the startup warm-up. Synthetic models are run
+ * through the same steps the routes use: cached catalog pages and events
+ * with their compressed bodies and ETags, request bodies parsed into
+ * models, streamed arrays, and SSE frames. This loads those classes and
+ * lets the JIT compile them before real requests arrive. Nothing here
+ * touches storage or the caches.
+ */
+final class SerializationWarmup {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int REGISTRANTS = 50;
+
+    // Keeps the JIT from discarding work whose result is never used
+    private static volatile long sink;
+
+    private SerializationWarmup() {}
+
+    static void run(int iterations) {
+        Gson gson = Json.gson();
+        Venue venue = venue();
+        List<Event> events = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            events.add(event(i, venue));
+        }
+        EventPage page = new EventPage(events, EventCursor.of(events.get(PAGE_SIZE - 1)).encode());
+        List<Registration> registrations = new ArrayList<>(REGISTRANTS);
+        List<RegistrationDetails> registrants = new ArrayList<>(REGISTRANTS);
+        for (int i = 1; i <= REGISTRANTS; i++) {
+            registrations.add(registration(i));
+            registrants.add(registrant(i));
+        }
+        String eventBody = gson.toJson(events.get(0));
+        String venueBody = gson.toJson(venue);
+        String registrationBody = "{\"eventId\":1}";
+        String loginBody = "{\"email\":\"warmup@example.com\",\"password\":\"warm-up password\"}";
+
+        long total = 0;
+        for (int i = 0; i < iterations; i++) {
+            // Catalog page and single event, as cached: plain, compressed and tagged
+            total += cachedBodies(CachedJson.of(page, gson));
+            total += cachedBodies(CachedJson.of(events.get(i % PAGE_SIZE), gson));
+
+            // Request bodies and their responses
+            total += gson.toJson(gson.fromJson(eventBody, Event.class)).length();
+            total += gson.toJson(gson.fromJson(venueBody, Venue.class)).length();
+            total += gson.toJson(gson.fromJson(registrationBody, Registration.class)).length();
+            total += gson.toJson(gson.fromJson(loginBody, User.class)).length();
+
+            // Responses serialized whole and compressed on the way out
+            byte[] list = gson.toJson(registrations).getBytes(StandardCharsets.UTF_8);
+            total += ResponseCompression.compress(list, ResponseCompression.Encoding.GZIP).length;
+            total += gson.toJson(List.of(venue)).length();
+
+            // Streamed arrays, row by row
+            total += streamArray(gson, registrants);
+
+            total += SseBroadcaster.frame("updated", eventBody).length;
+        }
+        sink = total;
+    }
+
+    private static long cachedBodies(CachedJson<?> cached) {
+        long length = cached.getBody().length;
+        length += cached.getBody(ResponseCompression.Encoding.GZIP).length;
+        length += cached.getBody(ResponseCompression.Encoding.DEFLATE).length;
+        return cached.matches(cached.getEtag(ResponseCompression.Encoding.GZIP)) ? length : -length;
+    }
+
+    private static long streamArray(Gson gson, List<RegistrationDetails> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.beginArray();
+            for (RegistrationDetails row : rows) {
+                gson.toJson(row, RegistrationDetails.class, writer);
+            }
+            writer.endArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream warm-up rows", e);
+        }
+        return ResponseCompression.compress(out.toByteArray(), ResponseCompression.Encoding.GZIP).length;
+    }
+
+    private static Venue venue() {
+        Venue venue = new Venue();
+        venue.setVenueId(1);
+        venue.setName("Warm-up Hall");
+        venue.setLocation("Main Street 1");
+        venue.setCapacity(500);
+        venue.setCreatedBy(1);
+        return venue;
+    }
+
+    private static Event event(int id, Venue venue) {
+        Event event = new Event();
+        event.setEventId(id);
+        event.setTitle("Warm-up event " + id);
+        event.setDescription("A synthetic event used to warm up serialization before the first request. " +
+                "It is long enough to resemble a real description.");
+        event.setEventDate(Date.valueOf("2030-01-01"));
+        event.setVenueId(venue.getVenueId());
+        event.setCreatedBy(venue.getCreatedBy());
+        event.setCreatedAt(new Timestamp(1_700_000_000_000L + id));
+        event.setVenue(venue);
+        event.setRegistrationCount(id * 7);
+        return event;
+    }
+
+    private static Registration registration(int id) {
+        Registration registration = new Registration();
+        registration.setRegId(id);
+        registration.setUserId(id);
+        registration.setEventId(1);
+        registration.setRegisteredAt(new Timestamp(1_700_000_000_000L + id));
+        registration.setStatus(id % 10 == 0 ? Registration.WAITLISTED : Registration.CONFIRMED);
+        return registration;
+    }
+
+    private static RegistrationDetails registrant(int id) {
+        RegistrationDetails details = new RegistrationDetails();
+        details.setRegId(id);
+        details.setRegisteredAt(new Timestamp(1_700_000_000_000L + id));
+        details.setStatus(Registration.CONFIRMED);
+        details.setUserId(id);
+        details.setFullName("Attendee " + id);
+        details.setEmail("attendee" + id + "@example.com");
+        return details;
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventflow.model;
+
+/** The verified identity carried by a JWT: who the caller is and until when. */
+public class AuthPrincipal {
+
+    private final int userId;
+    private final String role;
+    private final long expiresAtMillis;
+
+    public AuthPrincipal(int userId, String role, long expiresAtMillis) {
+        this.userId = userId;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
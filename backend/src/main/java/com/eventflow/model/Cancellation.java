@@ -0,0 +1,46 @@
+package com.eventflow.model;
+
+/**
+ * Outcome of cancelling a registration: the status it had before, and the
+ * waitlisted registration promoted into the freed seat, if any.
+ */
+public class Cancellation {
+
+    private int regId;
+    private String previousStatus;
+    private int promotedRegId;
+    private int promotedUserId;
+
+    // Getters and Setters
+    public int getRegId() {
+        return regId;
+    }
+
+    public void setRegId(int regId) {
+        this.regId = regId;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(String previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public int getPromotedRegId() {
+        return promotedRegId;
+    }
+
+    public void setPromotedRegId(int promotedRegId) {
+        this.promotedRegId = promotedRegId;
+    }
+
+    public int getPromotedUserId() {
+        return promotedUserId;
+    }
+
+    public void setPromotedUserId(int promotedUserId) {
+        this.promotedUserId = promotedUserId;
+    }
+}
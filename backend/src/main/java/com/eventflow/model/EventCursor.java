@@ -0,0 +1,57 @@
+package com.eventflow.model;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in the event catalog: the (event_date, event_id) of
+ * the last event a client has seen. Encoded as URL-safe Base64 so clients
+ * treat it as a token rather than something to construct.
+ */
+public class EventCursor {
+
+    private final Date eventDate;
+    private final int eventId;
+
+    public EventCursor(Date eventDate, int eventId) {
+        this.eventDate = eventDate;
+        this.eventId = eventId;
+    }
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getEventDate(), event.getEventId());
+    }
+
+    public String encode() {
+        String raw = eventDate.toString() + ":" + eventId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(':');
+            return new EventCursor(Date.valueOf(raw.substring(0, sep)), Integer.parseInt(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Orders positions the way the catalog is sorted: a negative result means
+     * {@code this} comes earlier in the listing (later date, then higher id).
+     */
+    public int compareTo(EventCursor other) {
+        int byDate = other.eventDate.compareTo(eventDate);
+        return byDate != 0 ? byDate : Integer.compare(other.eventId, eventId);
+    }
+
+    public Date getEventDate() {
+        return eventDate;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+}
@@ -0,0 +1,91 @@
+package com.eventflow.model;
+
+import java.sql.Date;
+
+/**
+ * Filter and keyset position for a page of the public event catalog.
+ * Events are ordered by (event_date DESC, event_id DESC); the cursor is the
+ * (date, id) of the last event on the previous page.
+ */
+public class EventFilter {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private Date fromDate;
+    private Date toDate;
+    private Integer venueId;
+    private Integer organizerId;
+    private EventCursor cursor;
+    private int limit = DEFAULT_LIMIT;
+
+    /** Whether {@code event} satisfies the date, venue and organizer predicates (ignoring the cursor). */
+    public boolean matches(Event event) {
+        Date date = event.getEventDate();
+        if (fromDate != null && (date == null || date.before(fromDate))) {
+            return false;
+        }
+        if (toDate != null && (date == null || date.after(toDate))) {
+            return false;
+        }
+        if (venueId != null && venueId != event.getVenueId()) {
+            return false;
+        }
+        return organizerId == null || organizerId == event.getCreatedBy();
+    }
+
+    /** Canonical form of the filter, used as a cache key for the page it selects. */
+    public String cacheKey() {
+        return fromDate + "|" + toDate + "|" + venueId + "|" + organizerId + "|"
+                + (cursor != null ? cursor.encode() : "") + "|" + limit;
+    }
+
+    // Getters and Setters
+    public Date getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(Date fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public Date getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(Date toDate) {
+        this.toDate = toDate;
+    }
+
+    public Integer getVenueId() {
+        return venueId;
+    }
+
+    public void setVenueId(Integer venueId) {
+        this.venueId = venueId;
+    }
+
+    public Integer getOrganizerId() {
+        return organizerId;
+    }
+
+    public void setOrganizerId(Integer organizerId) {
+        this.organizerId = organizerId;
+    }
+
+    public EventCursor getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(EventCursor cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,31 @@
+package com.eventflow.model;
+
+import java.util.List;
+
+public class EventPage {
+
+    private List<Event> events;
+    private String nextCursor;
+
+    public EventPage(List<Event> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<Event> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
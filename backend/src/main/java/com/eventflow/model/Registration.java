@@ -4,10 +4,17 @@ import java.sql.Timestamp;
 
 public class Registration {
 
+    // Values of registrations.status
+    public static final String CONFIRMED = "confirmed";
+    public static final String WAITLISTED = "waitlisted";
+    public static final String CANCELLED = "cancelled";
+
     private int regId;
     private int userId;
     private int eventId;
     private Timestamp registeredAt;
+    private String status;
+    private Integer waitlistPosition; // 1-based, only set while waitlisted
 
     // Getters and Setters
     public int getRegId() {
@@ -41,4 +48,20 @@ public class Registration {
     public void setRegisteredAt(Timestamp registeredAt) {
         this.registeredAt = registeredAt;
     }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getWaitlistPosition() {
+        return waitlistPosition;
+    }
+
+    public void setWaitlistPosition(Integer waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
 }
@@ -8,6 +8,8 @@ public class RegistrationDetails {
     // From Registration
     private int regId;
     private Timestamp registeredAt;
+    private String status;
+    private Integer waitlistPosition;
 
     // From Event
     private int eventId;
@@ -27,6 +29,12 @@ public class RegistrationDetails {
     public Timestamp getRegisteredAt() { return registeredAt; }
     public void setRegisteredAt(Timestamp registeredAt) { this.registeredAt = registeredAt; }
 
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getWaitlistPosition() { return waitlistPosition; }
+    public void setWaitlistPosition(Integer waitlistPosition) { this.waitlistPosition = waitlistPosition; }
+
     public int getEventId() { return eventId; }
     public void setEventId(int eventId) { this.eventId = eventId; }
 
@@ -0,0 +1,37 @@
+package com.eventflow.model;
+
+/**
+ * Venue capacity of an event and how many confirmed registrations it holds.
+ * A capacity of 0 means the event has no venue limit.
+ */
+public class SeatUsage {
+
+    private int eventId;
+    private int capacity;
+    private int confirmed;
+
+    // Getters and Setters
+    public int getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(int eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getConfirmed() {
+        return confirmed;
+    }
+
+    public void setConfirmed(int confirmed) {
+        this.confirmed = confirmed;
+    }
+}
@@ -1,13 +1,21 @@
 package com.eventflow.service;
 
+import com.eventflow.model.AuthPrincipal;
 import com.eventflow.model.User;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.LruCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
 
 public class AuthService {
     private static final String SECRET_STRING = System.getenv().getOrDefault(
@@ -17,6 +25,16 @@ public class AuthService {
     private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET_STRING.getBytes(StandardCharsets.UTF_8));
     private static final long EXPIRATION_TIME = 864_000_000; // 10 days
 
+    // JJWT parsers are immutable and thread-safe, so one is built and shared
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(SECRET_KEY).build();
+
+    // Principals of tokens that already passed signature verification, keyed by
+    // the token's SHA-256 so raw bearer tokens are not kept in memory.
+    private static final LruCache<String, AuthPrincipal> verifiedTokens =
+            new LruCache<>(AppConfig.getInt("auth.tokenCache.maxEntries", 10_000));
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder cacheMisses = new LongAdder();
+
     public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + EXPIRATION_TIME);
@@ -32,19 +50,64 @@ public class AuthService {
 
     public Claims getClaimsFromToken(String token) {
         // Modern JJWT 0.12.x API
-        return Jwts.parser()
-                .verifyWith(SECRET_KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return PARSER.parseSignedClaims(token).getPayload();
     }
 
     public boolean validateToken(String token) {
+        return authenticate(token) != null;
+    }
+
+    /**
+     * Verifies the token once and returns its principal, or null if the token
+     * is invalid or expired. Repeat calls with the same token are served from
+     * the cache without any signature check until the token expires.
+     */
+    public AuthPrincipal authenticate(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        AuthPrincipal principal = verifiedTokens.get(key);
+        if (principal != null) {
+            if (!principal.isExpired(now)) {
+                cacheHits.increment();
+                return principal;
+            }
+            verifiedTokens.remove(key);
+            return null;
+        }
+
+        cacheMisses.increment();
         try {
-            getClaimsFromToken(token);
-            return true;
+            Claims claims = getClaimsFromToken(token);
+            principal = new AuthPrincipal(
+                    Integer.parseInt(claims.getSubject()),
+                    claims.get("role", String.class),
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
         } catch (Exception e) {
-            return false;
+            return null;
+        }
+        verifiedTokens.put(key, principal);
+        return principal;
+    }
+
+    public static long getTokenCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public static long getTokenCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public static int getTokenCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
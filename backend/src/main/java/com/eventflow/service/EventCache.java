@@ -0,0 +1,249 @@
+package com.eventflow.service;
+
+import com.eventflow.dao.Storage;
+import com.eventflow.json.Json;
+import com.eventflow.model.Event;
+import com.eventflow.model.EventCursor;
+import com.eventflow.model.EventFilter;
+import com.eventflow.model.EventPage;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.CachedJson;
+import com.eventflow.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the public catalog: single events by id and catalog
+ * pages by filter. Each entry holds the assembled Event/Venue graph plus its
+ * serialized JSON and ETag. Cached objects are shared, so callers must treat
+ * them as read-only.
+ *
+ * <p>Writes invalidate precisely: the event's own entry, and only the pages
+ * that contain the event or whose key range and filter it now falls into. A
+ * generation counter stops a load that raced with a write from caching the
+ * pre-write result.
+ *
+ * <p>Registration counts change far more often than events do, so those
+ * changes are not applied one by one: the event ids are collected and
+ * dropped together every {@code cache.countRefreshMs} (default 1000). The
+ * count an event shows is therefore at most that much behind.
+ *
+ * <p>With a read replica, another client's load right after a write may
+ * still read the old row, since only the writer's own reads go to the
+ * primary. So every drop is repeated once {@code db.read.maxLagMs} later,
+ * when the replica has caught up.
+ */
+class EventCache {
+
+    // How long after a write a replica may still serve the old row; 0 without one
+    private static final long REPLICA_LAG_MILLIS = Storage.isJdbc() && AppConfig.get("db.read.url") != null
+            ? AppConfig.getInt("db.read.maxLagMs", 1000)
+            : 0;
+
+    private final LruCache<Integer, CachedJson<Event>> events =
+            new LruCache<>(AppConfig.getInt("cache.events.maxEntries", 10_000));
+    private final LruCache<String, CachedPage> pages =
+            new LruCache<>(AppConfig.getInt("cache.pages.maxEntries", 1_000));
+    // Bumped by every write. Writes hold the lock while they bump it and drop
+    // entries, and loads check it and cache under the same lock.
+    private final AtomicLong generation = new AtomicLong();
+    private final Object lock = new Object();
+    private final Set<Integer> staleCounts = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "event-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    EventCache() {
+        long refreshMillis = AppConfig.getInt("cache.countRefreshMs", 1000);
+        scheduler.scheduleWithFixedDelay(this::dropStaleCounts, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    CachedJson<Event> getEvent(int eventId, Supplier<Event> loader) {
+        CachedJson<Event> cached = events.get(eventId);
+        if (cached != null) {
+            return cached;
+        }
+        long startGeneration = generation.get();
+        Event event = loader.get();
+        if (event == null) {
+            return null;
+        }
+        cached = CachedJson.of(event, Json.gson());
+        putIfCurrent(events, eventId, cached, startGeneration);
+        return cached;
+    }
+
+    /**
+     * Like {@link #getEvent} for many ids: the ones not cached are loaded
+     * together by {@code loader}. Unknown ids are left out; the rest come back
+     * in the order asked for.
+     */
+    List<CachedJson<Event>> getEvents(List<Integer> eventIds, Function<List<Integer>, Map<Integer, Event>> loader) {
+        List<CachedJson<Event>> found = new ArrayList<>(eventIds.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int eventId : eventIds) {
+            CachedJson<Event> cached = events.get(eventId);
+            found.add(cached);
+            if (cached == null) {
+                missing.add(eventId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long startGeneration = generation.get();
+            Map<Integer, Event> loaded = loader.apply(missing);
+            for (int i = 0; i < found.size(); i++) {
+                Event event = found.get(i) == null ? loaded.get(eventIds.get(i)) : null;
+                if (event != null) {
+                    CachedJson<Event> cached = CachedJson.of(event, Json.gson());
+                    found.set(i, cached);
+                    putIfCurrent(events, event.getEventId(), cached, startGeneration);
+                }
+            }
+            found.removeIf(cached -> cached == null);
+        }
+        return found;
+    }
+
+    CachedJson<EventPage> getPage(EventFilter filter, Supplier<EventPage> loader) {
+        String key = filter.cacheKey();
+        CachedPage cached = pages.get(key);
+        if (cached != null) {
+            return cached.json;
+        }
+        long startGeneration = generation.get();
+        cached = new CachedPage(filter, CachedJson.of(loader.get(), Json.gson()));
+        putIfCurrent(pages, key, cached, startGeneration);
+        return cached.json;
+    }
+
+    // Caches a loaded entry unless a write happened since the load started.
+    // Checked under the lock writes also take, so a write cannot slip in
+    // between the check and the put.
+    private <K, V> void putIfCurrent(LruCache<K, V> cache, K key, V value, long startGeneration) {
+        synchronized (lock) {
+            if (generation.get() == startGeneration) {
+                cache.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * Drops every entry that could show the event after a write. Pages that
+     * showed the old state contain its id; pages it now belongs to are found
+     * by filter and key range. {@code current} is null after a delete.
+     */
+    void invalidate(int eventId, Event current) {
+        drop(eventId, current);
+        afterReplicaLag(() -> drop(eventId, current));
+    }
+
+    private void drop(int eventId, Event current) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            events.remove(eventId);
+            pages.removeIf(page -> page.isAffectedBy(eventId, current));
+        }
+    }
+
+    /** Marks an event whose registration count changed; see the class comment. */
+    void invalidateCountLater(int eventId) {
+        staleCounts.add(eventId);
+    }
+
+    private void dropStaleCounts() {
+        if (staleCounts.isEmpty()) {
+            return;
+        }
+        Set<Integer> stale = new HashSet<>();
+        for (Iterator<Integer> it = staleCounts.iterator(); it.hasNext(); ) {
+            stale.add(it.next());
+            it.remove();
+        }
+        dropCounts(stale);
+        afterReplicaLag(() -> dropCounts(stale));
+    }
+
+    private void dropCounts(Set<Integer> stale) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            for (int eventId : stale) {
+                events.remove(eventId);
+            }
+            // A count change never moves an event between pages, only the pages showing it go
+            pages.removeIf(page -> page.containsAny(stale));
+        }
+    }
+
+    // Runs the drop again once a lagging replica has the write; see the class comment
+    private void afterReplicaLag(Runnable drop) {
+        if (REPLICA_LAG_MILLIS > 0) {
+            scheduler.schedule(drop, REPLICA_LAG_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void clear() {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            events.clear();
+            pages.clear();
+        }
+    }
+
+    private static class CachedPage {
+        final EventFilter filter;
+        final CachedJson<EventPage> json;
+        final Set<Integer> eventIds = new HashSet<>();
+        // Keyset bounds of the page: everything sorting after upper (exclusive)
+        // and up to lower (inclusive) belongs here. null means unbounded.
+        final EventCursor upper;
+        final EventCursor lower;
+
+        CachedPage(EventFilter filter, CachedJson<EventPage> json) {
+            this.filter = filter;
+            this.json = json;
+            List<Event> items = json.getValue().getEvents();
+            for (Event event : items) {
+                eventIds.add(event.getEventId());
+            }
+            this.upper = filter.getCursor();
+            this.lower = json.getValue().getNextCursor() != null
+                    ? EventCursor.of(items.get(items.size() - 1))
+                    : null;
+        }
+
+        boolean containsAny(Set<Integer> ids) {
+            for (int id : ids) {
+                if (eventIds.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isAffectedBy(int eventId, Event event) {
+            if (eventIds.contains(eventId)) {
+                return true;
+            }
+            if (event == null || event.getEventDate() == null || !filter.matches(event)) {
+                return false;
+            }
+            EventCursor position = EventCursor.of(event);
+            return (upper == null || upper.compareTo(position) < 0)
+                    && (lower == null || position.compareTo(lower) < 0);
+        }
+    }
+}
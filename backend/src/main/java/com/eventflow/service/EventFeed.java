@@ -0,0 +1,111 @@
+package com.eventflow.service;
+
+import com.eventflow.json.Json;
+import com.eventflow.model.Event;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.SseBroadcaster;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The live feed behind the event streams, fed by the event and registration
+ * write paths. Catalog changes ({@code created}, {@code updated},
+ * {@code deleted}) are pushed as they happen. Seat changes are collected
+ * and pushed as one {@code seats} frame per event per tick, a tick being
+ * {@code 1000 / events.stream.maxPushesPerSecond} ms, so a burst of
+ * registrations costs subscribers at most that many frames a second.
+ */
+class EventFeed {
+
+    private static final int MAX_PUSHES_PER_SECOND =
+            Math.max(1, AppConfig.getInt("events.stream.maxPushesPerSecond", 2));
+
+    private final SseBroadcaster broadcaster = new SseBroadcaster("event-stream",
+            AppConfig.getInt("events.stream.maxSubscribers", 50_000),
+            AppConfig.getInt("events.stream.maxQueuedFrames", 64),
+            AppConfig.getInt("events.stream.heartbeatSeconds", 15));
+    private final Set<Integer> changedSeats = ConcurrentHashMap.newKeySet();
+
+    EventFeed() {
+        long tickMillis = Math.max(1, 1000 / MAX_PUSHES_PER_SECOND);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-stream-seats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pushSeatsSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    SseBroadcaster getBroadcaster() {
+        return broadcaster;
+    }
+
+    void eventCreated(Event event) {
+        broadcaster.publish(event.getEventId(), SseBroadcaster.frame("created", Json.gson().toJson(event)));
+    }
+
+    void eventUpdated(Event event) {
+        broadcaster.publish(event.getEventId(), SseBroadcaster.frame("updated", Json.gson().toJson(event)));
+        // The capacity may have changed with the venue
+        changedSeats.add(event.getEventId());
+    }
+
+    void eventDeleted(int eventId) {
+        changedSeats.remove(eventId);
+        broadcaster.publish(eventId, SseBroadcaster.frame("deleted", "{\"eventId\":" + eventId + "}"));
+        broadcaster.closeTopic(eventId);
+    }
+
+    /** Marks an event's seats as changed; the next tick pushes them. */
+    void seatsChanged(int eventId) {
+        changedSeats.add(eventId);
+    }
+
+    /**
+     * The current {@code seats} frame of an event, seeding its seat counter
+     * if needed, or null if the event does not exist.
+     */
+    byte[] seatsFrame(int eventId) {
+        SeatCounters.Seats seats = RegistrationService.seatCounters.get(eventId);
+        return seats != null ? seatsFrame(eventId, seats) : null;
+    }
+
+    private static byte[] seatsFrame(int eventId, SeatCounters.Seats seats) {
+        int capacity = seats.capacity();
+        int taken = seats.taken();
+        StringBuilder data = new StringBuilder(96)
+                .append("{\"eventId\":").append(eventId)
+                .append(",\"capacity\":").append(capacity)
+                .append(",\"confirmed\":").append(taken);
+        if (capacity > 0) {
+            data.append(",\"available\":").append(Math.max(0, capacity - taken));
+        }
+        data.append(",\"waitlisted\":").append(RegistrationService.waitlists.size(eventId)).append('}');
+        return SseBroadcaster.frame("seats", data.toString());
+    }
+
+    private void pushSeatsSafely() {
+        try {
+            pushSeats();
+        } catch (RuntimeException e) {
+            System.err.println("Error pushing seat updates: " + e.getMessage());
+        }
+    }
+
+    private void pushSeats() {
+        for (Iterator<Integer> it = changedSeats.iterator(); it.hasNext(); ) {
+            int eventId = it.next();
+            it.remove();
+            // Seeds the counter of an event nobody has registered for yet
+            byte[] frame = seatsFrame(eventId);
+            if (frame != null) {
+                broadcaster.publish(eventId, frame);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventflow.service;
+
+/**
+ * Thrown when a registration would exceed the event's venue capacity.
+ * Controllers answer it with 409.
+ */
+public class EventFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EventFullException(String message) {
+        super(message);
+    }
+}
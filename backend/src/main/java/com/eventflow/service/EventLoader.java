@@ -0,0 +1,182 @@
+package com.eventflow.service;
+
+import com.eventflow.dao.EventDao;
+import com.eventflow.model.Event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces event lookups by id: single-flight per id plus DataLoader-style
+ * batching across ids.
+ *
+ * <p>Concurrent lookups of the same id share one pending load. Pending loads
+ * are queued for the loader threads, each of which takes whatever has piled
+ * up, up to {@code maxBatch} ids, optionally lingers {@code lingerMillis} for
+ * more, and fetches them all with one {@link EventDao#getEventsByIds} query.
+ * While one batch is in the database the next one collects, so a crowd
+ * opening the same or different events costs one query per round trip
+ * rather than one per request, and a lone lookup with no linger is sent at
+ * once.
+ *
+ * <p>After a write, {@link #forget(int)} detaches the event's pending load,
+ * so lookups that start later do not join a query that may have read the
+ * row before the write.
+ */
+class EventLoader {
+
+    private final EventDao eventDao;
+    private final int maxBatch;
+    private final long lingerMillis;
+    private final ConcurrentHashMap<Integer, Pending> pending = new ConcurrentHashMap<>();
+    // Holds each pending load once, so its size is bounded by the ids being looked up
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    EventLoader(EventDao eventDao, int threads, int maxBatch, long lingerMillis) {
+        this.eventDao = eventDao;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.lingerMillis = Math.max(0, lingerMillis);
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread loader = new Thread(this::run, "event-loader-" + i);
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    /** Returns the event, or null if there is none, waiting for the batch that loads it. */
+    Event load(int eventId) {
+        return await(enqueue(eventId));
+    }
+
+    /**
+     * Returns the events with the given ids, keyed by id, loaded in as few
+     * batches as the loader threads allow. Missing events are left out.
+     */
+    Map<Integer, Event> loadAll(Collection<Integer> eventIds) {
+        List<Pending> loads = new ArrayList<>(eventIds.size());
+        for (int eventId : eventIds) {
+            loads.add(enqueue(eventId));
+        }
+        Map<Integer, Event> events = new HashMap<>();
+        for (Pending load : loads) {
+            Event event = await(load);
+            if (event != null) {
+                events.put(load.eventId, event);
+            }
+        }
+        return events;
+    }
+
+    /** Called after the event was written; see the class comment. */
+    void forget(int eventId) {
+        pending.remove(eventId);
+    }
+
+    private Pending enqueue(int eventId) {
+        lookups.increment();
+        Pending created = new Pending(eventId);
+        Pending existing = pending.putIfAbsent(eventId, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        queue.add(created);
+        return created;
+    }
+
+    private static Event await(Pending load) {
+        try {
+            return load.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Failed to get event by ID", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            try {
+                batch.add(queue.take());
+                if (lingerMillis > 0) {
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                    while (batch.size() < maxBatch) {
+                        Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, maxBatch - batch.size());
+                fetch(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Error loading events: " + e.getMessage());
+                for (Pending load : batch) {
+                    pending.remove(load.eventId, load);
+                    load.result.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fetch(List<Pending> batch) {
+        // May name an id twice: a forgotten load and its successor can share a batch
+        List<Integer> eventIds = new ArrayList<>(batch.size());
+        for (Pending load : batch) {
+            eventIds.add(load.eventId);
+        }
+        queries.increment();
+        Map<Integer, Event> byId = new HashMap<>();
+        for (Event event : eventDao.getEventsByIds(eventIds)) {
+            byId.put(event.getEventId(), event);
+        }
+        for (Pending load : batch) {
+            // Detach before completing, so a lookup arriving now queues a fresh load
+            pending.remove(load.eventId, load);
+            load.result.complete(byId.get(load.eventId));
+        }
+    }
+
+    // Metrics
+    long getLookups() {
+        return lookups.sum();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    long getQueries() {
+        return queries.sum();
+    }
+
+    private static final class Pending {
+        final int eventId;
+        final CompletableFuture<Event> result = new CompletableFuture<>();
+
+        Pending(int eventId) {
+            this.eventId = eventId;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventflow.service;
+
+import com.eventflow.model.Event;
+import com.eventflow.util.IntIntHashMap;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * eventId -> created_by for every event, in one primitive map, so ownership
+ * checks are a memory lookup rather than an event query. Loaded with the
+ * search index at startup and kept current by the create and delete paths;
+ * an update never changes the owner. Readers share a read lock.
+ */
+class EventOwners {
+
+    /** What {@link #get(int)} returns for an event it does not know. */
+    static final int UNKNOWN = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private IntIntHashMap owners = new IntIntHashMap();
+
+    void rebuild(List<Event> events) {
+        IntIntHashMap loaded = new IntIntHashMap(events.size());
+        for (Event event : events) {
+            loaded.put(event.getEventId(), event.getCreatedBy());
+        }
+        lock.writeLock().lock();
+        try {
+            owners = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** The owner of the event, or {@link #UNKNOWN}. */
+    int get(int eventId) {
+        lock.readLock().lock();
+        try {
+            return owners.get(eventId, UNKNOWN);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(int eventId, int ownerId) {
+        lock.writeLock().lock();
+        try {
+            owners.put(eventId, ownerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int eventId) {
+        lock.writeLock().lock();
+        try {
+            owners.remove(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return owners.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
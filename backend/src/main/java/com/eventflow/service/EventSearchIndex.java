@@ -0,0 +1,205 @@
+package com.eventflow.service;
+
+import com.eventflow.model.Event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over event titles and descriptions, ranked with
+ * BM25. Terms are kept in a sorted map so every query token also matches the
+ * indexed terms it is a prefix of ("conf" finds "conference"), with exact
+ * matches weighted above expansions.
+ *
+ * <p>Title tokens are counted {@link #TITLE_WEIGHT} times, a cheap stand-in
+ * for a separate title field. Readers share a read lock; writes from the
+ * EventService write paths take the write lock.
+ */
+class EventSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (eventId -> term frequency)
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, IndexedEvent> documents = new HashMap<>();
+    private long totalLength;
+
+    void rebuild(List<Event> events) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (Event event : events) {
+                addLocked(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds the event, replacing any previously indexed version of it. */
+    void put(Event event) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(event.getEventId());
+            addLocked(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} events ranked by BM25 score, best
+     * first. Only ids are kept here, so callers resolve them to current events.
+     */
+    List<Integer> search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documents.size();
+            if (docCount == 0) {
+                return new ArrayList<>();
+            }
+            double avgLength = (double) totalLength / docCount;
+            Map<Integer, Double> scores = new HashMap<>();
+
+            for (String token : tokens) {
+                // Best contribution per document for this token, so a document
+                // matching several expansions of one prefix is not over-counted.
+                Map<Integer, Double> best = new HashMap<>();
+                NavigableMap<String, Map<Integer, Integer>> matches =
+                        postings.subMap(token, true, token + Character.MAX_VALUE, false);
+                int expansions = 0;
+                for (Map.Entry<String, Map<Integer, Integer>> term : matches.entrySet()) {
+                    if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    double weight = term.getKey().equals(token) ? 1.0 : PREFIX_WEIGHT;
+                    Map<Integer, Integer> docs = term.getValue();
+                    double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                    for (Map.Entry<Integer, Integer> posting : docs.entrySet()) {
+                        int tf = posting.getValue();
+                        int length = documents.get(posting.getKey()).length;
+                        double score = weight * idf * tf * (K1 + 1)
+                                / (tf + K1 * (1 - B + B * length / avgLength));
+                        best.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                best.forEach((eventId, score) -> scores.merge(eventId, score, Double::sum));
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Double.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Integer.compare(b.getKey(), a.getKey());
+            });
+            List<Integer> results = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                results.add(ranked.get(i).getKey());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Lower-cases and splits on anything that is not a letter or digit. */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void addLocked(Event event) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(event.getTitle())) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(event.getDescription())) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(event.getEventId(), entry.getValue());
+            length += entry.getValue();
+        }
+        documents.put(event.getEventId(), new IndexedEvent(length, frequencies.keySet()));
+        totalLength += length;
+    }
+
+    private void removeLocked(int eventId) {
+        IndexedEvent previous = documents.remove(eventId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Integer, Integer> docs = postings.get(term);
+            docs.remove(eventId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static class IndexedEvent {
+        final int length;
+        final Set<String> terms;
+
+        IndexedEvent(int length, Set<String> terms) {
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -1,38 +1,242 @@
 package com.eventflow.service;
 
 import com.eventflow.dao.EventDao;
+import com.eventflow.dao.Storage;
 import com.eventflow.model.Event;
+import com.eventflow.model.EventFilter;
+import com.eventflow.model.EventPage;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.CachedJson;
+import com.eventflow.util.RowHandler;
+import com.eventflow.util.SseBroadcaster;
+import com.eventflow.util.SortedIntSet;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class EventService {
-    private EventDao eventDao = new EventDao();
+    // Shared by every EventService instance so all controllers see one catalog cache.
+    private static final EventCache cache = new EventCache();
+    private static final EventSearchIndex searchIndex = new EventSearchIndex();
+    private static final EventOwners owners = new EventOwners();
+    private static final LongAdder ownerMisses = new LongAdder();
+    private static final EventFeed feed = new EventFeed();
+    private static final EventLoader loader = new EventLoader(Storage.eventDao(),
+            AppConfig.getInt("events.loader.threads", 2),
+            AppConfig.getInt("events.loader.maxBatch", 100),
+            AppConfig.getInt("events.loader.lingerMs", 0));
+
+    private static final int COUNT_REPAIR_MINUTES = AppConfig.getInt("registration.counts.repairMinutes", 60);
+
+    private EventDao eventDao = Storage.eventDao();
 
     public List<Event> getAllEvents() {
         return eventDao.getAllEvents();
     }
 
+    public EventPage getEvents(EventFilter filter) {
+        return getCachedEvents(filter).getValue();
+    }
+
+    public CachedJson<EventPage> getCachedEvents(EventFilter filter) {
+        return cache.getPage(filter, () -> eventDao.getEvents(filter));
+    }
+
+    /**
+     * The ids of the events a user holds a confirmed or waitlisted
+     * registration for, from the in-memory registration sets. Signed-in
+     * catalog reads send these next to the shared cached bodies.
+     */
+    public SortedIntSet getRegisteredEventIds(int userId) {
+        return RegistrationService.registeredEventIds.get(userId);
+    }
+
     public Event getEventById(int id) {
-        return eventDao.getEventById(id);
+        CachedJson<Event> cached = getCachedEventById(id);
+        return cached != null ? cached.getValue() : null;
+    }
+
+    /** Returns the cached event with its serialized form, or null if it does not exist. */
+    public CachedJson<Event> getCachedEventById(int id) {
+        return cache.getEvent(id, () -> loader.load(id));
+    }
+
+    /**
+     * The cached events with the given ids, in the order given, loading the
+     * ones not cached with one batched query. Unknown ids are left out.
+     */
+    public List<CachedJson<Event>> getCachedEventsByIds(List<Integer> ids) {
+        return cache.getEvents(ids, loader::loadAll);
+    }
+
+    /** Loads the whole catalog into the search index and the owner index. Called once at startup. */
+    public void buildIndexes() {
+        List<Event> events = eventDao.getAllEvents();
+        searchIndex.rebuild(events);
+        owners.rebuild(events);
+    }
+
+    /**
+     * Repairs drifted events.registration_count values now, in the background,
+     * and then every {@code registration.counts.repairMinutes} (0 runs it only
+     * once). Called once at startup.
+     */
+    public void startRegistrationCountRepair() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "registration-count-repair");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runnable repair = () -> {
+            try {
+                List<Integer> repaired = eventDao.repairRegistrationCounts();
+                if (!repaired.isEmpty()) {
+                    System.out.println("Repaired registration counts of events " + repaired);
+                    repaired.forEach(cache::invalidateCountLater);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error repairing registration counts: " + e.getMessage());
+            }
+        };
+        if (COUNT_REPAIR_MINUTES > 0) {
+            scheduler.scheduleWithFixedDelay(repair, 0, COUNT_REPAIR_MINUTES, TimeUnit.MINUTES);
+        } else {
+            scheduler.execute(repair);
+            scheduler.shutdown();
+        }
+    }
+
+    /** Called after a registration change moved an event's registration count. */
+    static void onRegistrationCountChanged(int eventId) {
+        cache.invalidateCountLater(eventId);
+        feed.seatsChanged(eventId);
+    }
+
+    /** Called after someone joined or left an event's waitlist without moving its count. */
+    static void onWaitlistChanged(int eventId) {
+        feed.seatsChanged(eventId);
+    }
+
+    /** The broadcaster behind the event streams; its topics are event ids. */
+    public SseBroadcaster getEventStream() {
+        return feed.getBroadcaster();
+    }
+
+    // Metrics
+    public static int getStreamSubscriberCount() {
+        return feed.getBroadcaster().getSubscriberCount();
+    }
+
+    public static long getStreamDroppedCount() {
+        return feed.getBroadcaster().getDroppedCount();
+    }
+
+    public static long getLoaderLookupCount() {
+        return loader.getLookups();
+    }
+
+    public static long getLoaderCoalescedCount() {
+        return loader.getCoalesced();
+    }
+
+    public static long getLoaderQueryCount() {
+        return loader.getQueries();
+    }
+
+    public static int getOwnerIndexSize() {
+        return owners.size();
+    }
+
+    public static long getOwnerIndexMisses() {
+        return ownerMisses.sum();
+    }
+
+    /** The current seat availability of an event as a stream frame, or null if the event does not exist. */
+    public byte[] getSeatsFrame(int eventId) {
+        return feed.seatsFrame(eventId);
+    }
+
+    /**
+     * Full-text search. The index only ranks ids; the events come from the
+     * event cache, so they carry the current registration count.
+     */
+    public List<Event> searchEvents(String query, int limit) {
+        List<Event> results = new ArrayList<>();
+        for (CachedJson<Event> cached : getCachedEventsByIds(searchIndex.search(query, limit))) {
+            results.add(cached.getValue());
+        }
+        return results;
     }
 
     public Event createEvent(Event event) {
-        return eventDao.createEvent(event);
+        Event created = eventDao.createEvent(event);
+        owners.put(created.getEventId(), created.getCreatedBy());
+        Event stored = onEventWritten(created.getEventId());
+        if (stored != null) {
+            feed.eventCreated(stored);
+        }
+        return created;
     }
 
     public Event updateEvent(Event event) {
-        return eventDao.updateEvent(event);
+        Event updated = eventDao.updateEvent(event);
+        // The venue, and with it the capacity, may have changed
+        RegistrationService.seatCounters.refreshCapacity(updated.getEventId());
+        RegistrationService.onSeatsFreed(updated.getEventId());
+        Event stored = onEventWritten(updated.getEventId());
+        if (stored != null) {
+            feed.eventUpdated(stored);
+        }
+        return updated;
     }
 
     public void deleteEvent(int id) {
         eventDao.deleteEvent(id);
+        RegistrationService.seatCounters.forget(id);
+        RegistrationService.waitlists.forget(id);
+        loader.forget(id);
+        owners.remove(id);
+        cache.invalidate(id, null);
+        searchIndex.remove(id);
+        feed.eventDeleted(id);
     }
 
     public List<Event> getEventsByOrganizerId(int organizerId) {
         return eventDao.getEventsByOrganizerId(organizerId);
     }
 
+    public void streamEventsByOrganizerId(int organizerId, RowHandler<Event> handler) {
+        eventDao.streamEventsByOrganizerId(organizerId, handler);
+    }
+
+    // The written Event carries neither the venue nor (on update) created_by, so
+    // re-read the stored row: it decides which cached pages the event now belongs
+    // to and is what search results and the event stream carry.
+    private Event onEventWritten(int eventId) {
+        loader.forget(eventId);
+        Event stored = eventDao.getEventById(eventId);
+        cache.invalidate(eventId, stored);
+        if (stored != null) {
+            searchIndex.put(stored);
+        }
+        return stored;
+    }
+
     public boolean isEventOwner(int userId, int eventId) {
-        Event event = eventDao.getEventById(eventId);
-        return event != null && event.getCreatedBy() == userId;
+        int ownerId = owners.get(eventId);
+        if (ownerId == EventOwners.UNKNOWN) {
+            // Not indexed, e.g. created by another instance: ask storage and remember the answer
+            ownerMisses.increment();
+            Event event = getEventById(eventId);
+            if (event == null) {
+                return false;
+            }
+            ownerId = event.getCreatedBy();
+            owners.put(eventId, ownerId);
+        }
+        return ownerId == userId;
     }
 }
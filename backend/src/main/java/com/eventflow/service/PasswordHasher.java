@@ -0,0 +1,123 @@
+package com.eventflow.service;
+
+import com.eventflow.util.AppConfig;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt on a dedicated, fixed-size executor with a bounded queue.
+ *
+ * <p>Request threads still wait for their own hash, but only
+ * {@code bcrypt.threads} hashes run at once and at most
+ * {@code bcrypt.queueLimit} more may wait. Anything beyond that is refused
+ * straight away with {@link ServerBusyException}. A login burst can no longer
+ * tie up every Jetty thread on CPU-bound hashing, so catalog reads keep
+ * being served.
+ */
+public final class PasswordHasher {
+
+    private static final int THREADS = AppConfig.getInt("bcrypt.threads", Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_LIMIT = AppConfig.getInt("bcrypt.queueLimit", 4 * THREADS);
+    private static final int COST = AppConfig.getInt("bcrypt.cost", 10);
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_LIMIT),
+            daemonThreads("bcrypt-"),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    private static final LongAdder completed = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+    private static final LongAdder totalHashNanos = new LongAdder();
+    private static final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    private PasswordHasher() {}
+
+    public static String hash(String password) {
+        return submit(() -> BCrypt.hashpw(password, BCrypt.gensalt(COST)));
+    }
+
+    public static boolean verify(String password, String hashed) {
+        return submit(() -> BCrypt.checkpw(password, hashed));
+    }
+
+    private static <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    completed.increment();
+                    totalHashNanos.add(elapsed);
+                    maxHashNanos.accumulate(elapsed);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServerBusyException("Too many concurrent sign-in requests, please retry", 1);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Metrics
+    public static int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public static int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public static long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public static long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public static double getAverageHashMillis() {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalHashNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public static double getMaxHashMillis() {
+        return maxHashNanos.get() / 1_000_000.0;
+    }
+}
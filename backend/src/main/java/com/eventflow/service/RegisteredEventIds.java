@@ -0,0 +1,73 @@
+package com.eventflow.service;
+
+import com.eventflow.dao.RegistrationDao;
+import com.eventflow.dao.Storage;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.LruCache;
+import com.eventflow.util.SortedIntSet;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * For each recently active user, the ids of the events they hold a confirmed
+ * or waitlisted registration for. It answers "am I registered" for a whole
+ * catalog page from memory.
+ *
+ * <p>A user's set is read from the database on first use and then kept up to
+ * date by the registration and cancellation paths. A load that overlaps a
+ * write for the same user could read the table before the write committed,
+ * so each write bumps a change counter for the user's stripe and a load is
+ * only cached if that counter did not move while it ran.
+ *
+ * <p>Ids of deleted events may linger in a set; they are never listed again,
+ * so they do no harm.
+ */
+class RegisteredEventIds {
+
+    private static final int STRIPES = 64;
+
+    private final LruCache<Integer, SortedIntSet> sets =
+            new LruCache<>(AppConfig.getInt("cache.registeredEvents.maxUsers", 100_000));
+    private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+    private final RegistrationDao registrationDao = Storage.registrationDao();
+
+    SortedIntSet get(int userId) {
+        SortedIntSet cached = sets.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(userId);
+        long before = changes.get(stripe);
+        SortedIntSet loaded = SortedIntSet.of(registrationDao.getRegisteredEventIds(userId));
+        // Checked under the cache lock, which writes also take, so a write
+        // cannot slip in between the check and the put.
+        synchronized (sets) {
+            if (changes.get(stripe) != before) {
+                return loaded;
+            }
+            return sets.putIfAbsent(userId, loaded);
+        }
+    }
+
+    void added(int userId, int eventId) {
+        synchronized (sets) {
+            changes.incrementAndGet(stripe(userId));
+            sets.computeIfPresent(userId, (id, set) -> set.with(eventId));
+        }
+    }
+
+    void removed(int userId, int eventId) {
+        synchronized (sets) {
+            changes.incrementAndGet(stripe(userId));
+            sets.computeIfPresent(userId, (id, set) -> set.without(eventId));
+        }
+    }
+
+    int size() {
+        return sets.size();
+    }
+
+    private static int stripe(int userId) {
+        return userId & (STRIPES - 1);
+    }
+}
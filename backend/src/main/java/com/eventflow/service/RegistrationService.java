@@ -1,16 +1,186 @@
 package com.eventflow.service;
 
 import com.eventflow.dao.RegistrationDao;
+import com.eventflow.dao.Storage;
+import com.eventflow.model.Cancellation;
 import com.eventflow.model.Registration;
 import com.eventflow.model.RegistrationDetails;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.IntIntHashMap;
+import com.eventflow.util.RowHandler;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 public class RegistrationService {
-    private RegistrationDao registrationDao = new RegistrationDao();
+    // Shared by every RegistrationService instance: one seat counter and one waitlist per event.
+    static final SeatCounters seatCounters = new SeatCounters();
+    static final Waitlists waitlists = new Waitlists();
+    // Events each recently active user is registered for, for the catalog's "registered" flag.
+    static final RegisteredEventIds registeredEventIds = new RegisteredEventIds();
 
+    private static final int WAITLIST_MAX_SIZE = AppConfig.getInt("registration.waitlist.maxSize", 0);
+
+    // An export holds a pooled connection for as long as the client takes to
+    // download it, so only a few may run at once.
+    private static final int EXPORT_MAX_CONCURRENT = AppConfig.getInt("export.maxConcurrent",
+            Math.max(1, AppConfig.getInt("db.pool.maxSize", 10) / 4));
+    private static final long EXPORT_MAX_WAIT_MS = AppConfig.getInt("export.maxWaitMs", 0);
+    private static final Semaphore exportPermits = new Semaphore(EXPORT_MAX_CONCURRENT);
+    private static final LongAdder rejectedExports = new LongAdder();
+
+    private RegistrationDao registrationDao = Storage.registrationDao();
+
+    /** Loads all waitlists into memory. Called once at startup. */
+    public void loadWaitlists() {
+        waitlists.loadAll();
+    }
+
+    /**
+     * Registers a user: confirmed while the event has a free seat and nobody
+     * is waiting for one, waitlisted otherwise. Returns null if the event does not exist and throws
+     * {@link EventFullException} if the waitlist is full as well.
+     */
     public Registration createRegistration(Registration registration) {
-        return registrationDao.createRegistration(registration);
+        SeatCounters.Seats seats = seatCounters.get(registration.getEventId());
+        if (seats == null) {
+            return null;
+        }
+        // Free seats go to the waitlist first; joining it promotes in order
+        if (waitlists.get(registration.getEventId()).size() > 0 || !seats.tryReserve()) {
+            return joinWaitlist(registration, seats);
+        }
+        registration.setStatus(Registration.CONFIRMED);
+        boolean created = false;
+        try {
+            Registration result = registrationDao.createRegistration(registration);
+            created = true;
+            registeredEventIds.added(registration.getUserId(), registration.getEventId());
+            EventService.onRegistrationCountChanged(registration.getEventId());
+            return result;
+        } finally {
+            seats.complete(created);
+        }
+    }
+
+    private Registration joinWaitlist(Registration registration, SeatCounters.Seats seats) {
+        Waitlists.EventWaitlist waitlist = waitlists.get(registration.getEventId());
+        if (WAITLIST_MAX_SIZE > 0 && waitlist.size() >= WAITLIST_MAX_SIZE) {
+            throw new EventFullException("Event and its waitlist are full");
+        }
+        registration.setStatus(Registration.WAITLISTED);
+        Registration created = registrationDao.createRegistration(registration);
+        registeredEventIds.added(created.getUserId(), created.getEventId());
+        waitlist.add(created.getRegId(), created.getUserId());
+        EventService.onWaitlistChanged(registration.getEventId());
+
+        // A seat may have been freed while the row was written, with nobody queued to take it
+        promoteWhileSeatsFree(registration.getEventId(), waitlist, seats);
+        int position = waitlist.position(created.getUserId());
+        if (position == 0) {
+            created.setStatus(Registration.CONFIRMED);
+        } else {
+            created.setWaitlistPosition(position);
+        }
+        return created;
+    }
+
+    /**
+     * Cancels a user's registration. A freed seat goes to the head of the
+     * waitlist in the same transaction. Returns null if the user holds no
+     * active registration for the event.
+     */
+    public Cancellation cancelRegistration(int userId, int eventId) {
+        SeatCounters.Seats seats = seatCounters.get(eventId);
+        if (seats == null) {
+            return null;
+        }
+        Waitlists.EventWaitlist waitlist = waitlists.get(eventId);
+        List<Waitlists.Entry> taken = new ArrayList<>();
+        boolean released = false;
+        seats.beginRelease();
+        try {
+            Cancellation cancellation = registrationDao.cancelRegistration(userId, eventId, () -> {
+                Waitlists.Entry next = waitlist.poll();
+                if (next == null) {
+                    return 0;
+                }
+                taken.add(next);
+                return next.regId;
+            });
+            // Entries taken but not promoted were no longer waitlisted in the table
+            if (cancellation != null) {
+                registeredEventIds.removed(userId, eventId);
+                if (Registration.WAITLISTED.equals(cancellation.getPreviousStatus())) {
+                    waitlist.remove(userId);
+                    EventService.onWaitlistChanged(eventId);
+                } else {
+                    released = cancellation.getPromotedRegId() == 0;
+                    if (!released) {
+                        // The seat went to the head of the waitlist
+                        EventService.onWaitlistChanged(eventId);
+                    }
+                }
+            }
+            return cancellation;
+        } catch (RuntimeException e) {
+            for (Waitlists.Entry entry : taken) {
+                waitlist.putBack(entry);
+            }
+            throw e;
+        } finally {
+            seats.completeRelease(released);
+            if (released) {
+                EventService.onRegistrationCountChanged(eventId);
+                promoteWhileSeatsFree(eventId, waitlist, seats);
+            }
+        }
+    }
+
+    /**
+     * Gives seats freed other than by a cancellation, by a larger venue or a
+     * corrected seat counter, to the waitlist, head first. Failures are only
+     * logged: the seats stay free for the next cancellation or reconcile.
+     */
+    static void onSeatsFreed(int eventId) {
+        if (waitlists.size(eventId) == 0) {
+            return;
+        }
+        try {
+            SeatCounters.Seats seats = seatCounters.get(eventId);
+            if (seats != null) {
+                new RegistrationService().promoteWhileSeatsFree(eventId, waitlists.get(eventId), seats);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error promoting waitlist of event " + eventId + ": " + e.getMessage());
+        }
+    }
+
+    // Moves waitlisted users into free seats, e.g. ones freed while a user was joining the waitlist.
+    private void promoteWhileSeatsFree(int eventId, Waitlists.EventWaitlist waitlist, SeatCounters.Seats seats) {
+        while (waitlist.size() > 0 && seats.tryReserve()) {
+            Waitlists.Entry next = waitlist.poll();
+            boolean promoted = false;
+            try {
+                promoted = next != null && registrationDao.promoteRegistration(next.regId);
+            } catch (RuntimeException e) {
+                waitlist.putBack(next);
+                throw e;
+            } finally {
+                seats.complete(promoted);
+            }
+            if (promoted) {
+                EventService.onRegistrationCountChanged(eventId);
+            }
+        }
+    }
+
+    /** 1-based waitlist position of a user, or 0 if the user is not waitlisted. */
+    public int getWaitlistPosition(int eventId, int userId) {
+        return waitlists.get(eventId).position(userId);
     }
 
     public List<Registration> getRegistrationsByUserId(int userId) {
@@ -21,6 +191,15 @@ public class RegistrationService {
         return registrationDao.getRegistrationDetailsByUserId(userId);
     }
 
+    public void streamRegistrationDetailsByUserId(int userId, RowHandler<RegistrationDetails> handler) {
+        registrationDao.streamRegistrationDetailsByUserId(userId, detail -> {
+            if (Registration.WAITLISTED.equals(detail.getStatus())) {
+                detail.setWaitlistPosition(getWaitlistPosition(detail.getEventId(), userId));
+            }
+            handler.handle(detail);
+        });
+    }
+
     public List<Registration> getRegistrationsByEventId(int eventId) {
         return registrationDao.getRegistrationsByEventId(eventId);
     }
@@ -28,4 +207,50 @@ public class RegistrationService {
     public List<RegistrationDetails> getRegistrationDetailsByEventId(int eventId) {
         return registrationDao.getRegistrationDetailsByEventId(eventId);
     }
+
+    public void streamRegistrationDetailsByEventId(int eventId, RowHandler<RegistrationDetails> handler) {
+        // All positions from one pass over the queue, rather than counting the entries ahead of each row
+        IntIntHashMap positions = waitlists.get(eventId).positions();
+        registrationDao.streamRegistrationDetailsByEventId(eventId, detail -> {
+            if (Registration.WAITLISTED.equals(detail.getStatus())) {
+                detail.setWaitlistPosition(positions.get(detail.getUserId(), 0));
+            }
+            handler.handle(detail);
+        });
+    }
+
+    /**
+     * Streams an event's registrants for a download. Unlike
+     * {@link #streamRegistrationDetailsByEventId}, only
+     * {@code export.maxConcurrent} exports run at once; the rest wait up to
+     * {@code export.maxWaitMs} and are then refused with
+     * {@link ServerBusyException}.
+     */
+    public void exportRegistrationDetailsByEventId(int eventId, RowHandler<RegistrationDetails> handler) {
+        boolean acquired;
+        try {
+            acquired = exportPermits.tryAcquire(EXPORT_MAX_WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to export", e);
+        }
+        if (!acquired) {
+            rejectedExports.increment();
+            throw new ServerBusyException("Too many exports running, please retry", 5);
+        }
+        try {
+            streamRegistrationDetailsByEventId(eventId, handler);
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    // Metrics
+    public static int getActiveExports() {
+        return EXPORT_MAX_CONCURRENT - exportPermits.availablePermits();
+    }
+
+    public static long getRejectedExports() {
+        return rejectedExports.sum();
+    }
 }
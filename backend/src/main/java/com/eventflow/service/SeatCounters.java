@@ -0,0 +1,240 @@
+package com.eventflow.service;
+
+import com.eventflow.dao.RegistrationDao;
+import com.eventflow.dao.Storage;
+import com.eventflow.model.SeatUsage;
+import com.eventflow.util.AppConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory seat counters, one per event, that decide whether a registration
+ * still fits the venue capacity.
+ *
+ * <p>A counter is seeded from the database the first time its event is
+ * registered for. After that, seats are claimed with a compare-and-set loop,
+ * so a sold-out event is refused without touching the database. A seat is
+ * claimed before the INSERT and given back if the INSERT fails. An event
+ * update changes the capacity of the live counter instead of replacing it,
+ * so reservations in flight keep counting against it.
+ *
+ * <p>A background job re-reads the confirmed counts every
+ * {@code registration.seats.reconcileSeconds} (default 60, 0 disables). It
+ * only overwrites a counter that saw no activity while the query ran, so a
+ * reservation in flight is never lost.
+ */
+class SeatCounters {
+
+    private static final int RECONCILE_SECONDS = AppConfig.getInt("registration.seats.reconcileSeconds", 60);
+
+    private final ConcurrentHashMap<Integer, Seats> seats = new ConcurrentHashMap<>();
+    private final RegistrationDao registrationDao = Storage.registrationDao();
+
+    SeatCounters() {
+        if (RECONCILE_SECONDS > 0) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "seat-reconciler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::reconcileSafely,
+                    RECONCILE_SECONDS, RECONCILE_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Returns the counter of an event, seeding it from the database if needed,
+     * or null if the event does not exist.
+     */
+    Seats get(int eventId) {
+        Seats current = seats.get(eventId);
+        if (current != null) {
+            return current;
+        }
+        SeatUsage usage = registrationDao.getSeatUsage(eventId);
+        if (usage == null) {
+            return null;
+        }
+        // A concurrent seed may have won and already handed out seats; keep it.
+        Seats seeded = seats.putIfAbsent(eventId, new Seats(usage.getCapacity(), usage.getConfirmed()));
+        return seeded != null ? seeded : seats.get(eventId);
+    }
+
+    /** Drops the counter of a deleted event. */
+    void forget(int eventId) {
+        seats.remove(eventId);
+    }
+
+    /**
+     * Re-reads an event's capacity after its venue may have changed. The live
+     * counter is adjusted in place rather than replaced, so reservations in
+     * flight still count against it.
+     */
+    void refreshCapacity(int eventId) {
+        Seats current = seats.get(eventId);
+        if (current == null) {
+            return;
+        }
+        SeatUsage usage = registrationDao.getSeatUsage(eventId);
+        if (usage == null) {
+            seats.remove(eventId, current);
+        } else {
+            current.capacity = usage.getCapacity();
+        }
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            System.err.println("Error reconciling seat counters: " + e.getMessage());
+        }
+    }
+
+    void reconcile() {
+        if (seats.isEmpty()) {
+            return;
+        }
+        List<Integer> eventIds = new ArrayList<>(seats.keySet());
+        List<Snapshot> before = new ArrayList<>(eventIds.size());
+        for (Integer eventId : eventIds) {
+            Seats counter = seats.get(eventId);
+            if (counter != null) {
+                before.add(new Snapshot(eventId, counter));
+            }
+        }
+
+        Map<Integer, SeatUsage> usageById = new HashMap<>();
+        for (SeatUsage usage : registrationDao.getSeatUsage(eventIds)) {
+            usageById.put(usage.getEventId(), usage);
+        }
+
+        List<Integer> corrected = new ArrayList<>();
+        for (Snapshot snapshot : before) {
+            SeatUsage usage = usageById.get(snapshot.eventId);
+            if (usage == null) {
+                seats.remove(snapshot.eventId, snapshot.counter);
+            } else if (usage.getCapacity() != snapshot.counter.capacity) {
+                if (snapshot.isQuiet() && seats.replace(snapshot.eventId, snapshot.counter,
+                        new Seats(usage.getCapacity(), usage.getConfirmed()))) {
+                    corrected.add(snapshot.eventId);
+                }
+            } else if (snapshot.counter.overwrite(snapshot.taken, snapshot.version, usage.getConfirmed())) {
+                System.out.println("Seat counter of event " + snapshot.eventId + " corrected from "
+                        + snapshot.taken + " to " + usage.getConfirmed());
+                corrected.add(snapshot.eventId);
+            }
+        }
+        // A correction may have freed seats that waitlisted users are owed
+        for (int eventId : corrected) {
+            RegistrationService.onSeatsFreed(eventId);
+        }
+    }
+
+    /**
+     * Seats taken for one event. {@code inFlight} counts reservations whose
+     * INSERT has not finished yet, and {@code version} moves on every change.
+     * Together they let {@link #reconcile()} tell whether a counter was quiet
+     * while the database was being read.
+     */
+    static final class Seats {
+        private volatile int capacity;
+        private final AtomicInteger taken;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong version = new AtomicLong();
+
+        Seats(int capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+
+        /** Venue capacity; 0 means unlimited. */
+        int capacity() {
+            return capacity;
+        }
+
+        /** Seats taken, including reservations whose INSERT is still running. */
+        int taken() {
+            return taken.get();
+        }
+
+        /** Claims a seat, or returns false if the event is full. */
+        boolean tryReserve() {
+            inFlight.incrementAndGet();
+            while (true) {
+                int current = taken.get();
+                int limit = capacity;
+                if (limit > 0 && current >= limit) {
+                    inFlight.decrementAndGet();
+                    return false;
+                }
+                if (taken.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /** Ends a reservation from {@link #tryReserve()}; a failed one gives its seat back. */
+        void complete(boolean succeeded) {
+            if (!succeeded) {
+                taken.decrementAndGet();
+            }
+            version.incrementAndGet();
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * Marks a cancellation as in flight, so a reconcile that reads the
+         * database mid-way does not count the freed seat twice. Must be
+         * followed by {@link #completeRelease(boolean)}.
+         */
+        void beginRelease() {
+            inFlight.incrementAndGet();
+        }
+
+        /** Ends a cancellation; {@code released} gives the seat back. */
+        void completeRelease(boolean released) {
+            if (released) {
+                taken.decrementAndGet();
+            }
+            version.incrementAndGet();
+            inFlight.decrementAndGet();
+        }
+
+        private boolean overwrite(int expectedTaken, long expectedVersion, int confirmed) {
+            if (expectedTaken == confirmed || inFlight.get() != 0 || version.get() != expectedVersion) {
+                return false;
+            }
+            return taken.compareAndSet(expectedTaken, confirmed);
+        }
+    }
+
+    private static final class Snapshot {
+        final int eventId;
+        final Seats counter;
+        final int taken;
+        final long version;
+
+        Snapshot(int eventId, Seats counter) {
+            this.eventId = eventId;
+            this.counter = counter;
+            // Version first: a change after this point makes overwrite() back off.
+            this.version = counter.version.get();
+            int inFlightNow = counter.inFlight.get();
+            this.taken = inFlightNow == 0 ? counter.taken.get() : -1;
+        }
+
+        boolean isQuiet() {
+            return taken >= 0 && counter.inFlight.get() == 0 && counter.version.get() == version;
+        }
+    }
+}
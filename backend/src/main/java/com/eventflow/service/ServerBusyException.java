@@ -0,0 +1,21 @@
+package com.eventflow.service;
+
+/**
+ * Thrown when a bounded resource refuses new work instead of queueing it.
+ * Controllers answer it with 503 and a Retry-After hint.
+ */
+public class ServerBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int retryAfterSeconds;
+
+    public ServerBusyException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,29 +1,98 @@
 package com.eventflow.service;
 
+import com.eventflow.dao.Storage;
 import com.eventflow.dao.UserDao;
 import com.eventflow.model.User;
-import org.mindrot.jbcrypt.BCrypt;
+import com.eventflow.util.AppConfig;
+import com.eventflow.util.TinyLfuCache;
 
 public class UserService {
 
-    private UserDao userDao = new UserDao();
+    // Shared by every UserService instance. Holds users without their password
+    // hash; login reads the hash straight from the database.
+    private static final TinyLfuCache<Integer, User> cache = new TinyLfuCache<>(
+            AppConfig.getInt("cache.users.maxEntries", 10_000),
+            AppConfig.getInt("cache.users.ttlSeconds", 300) * 1000L);
+    // Bumped by every update, so a load that raced with one is not cached.
+    private static long generation;
+
+    private UserDao userDao = Storage.userDao();
     private AuthService authService = new AuthService();
 
     public User registerUser(User user) {
-        String hashedPassword = BCrypt.hashpw(user.getPassword(), BCrypt.gensalt());
+        String hashedPassword = PasswordHasher.hash(user.getPassword());
         user.setPassword(hashedPassword);
         return userDao.createUser(user);
     }
 
     public String loginUser(String email, String password) {
         User user = userDao.getUserByEmail(email);
-        if (user != null && BCrypt.checkpw(password, user.getPassword())) {
+        if (user != null && PasswordHasher.verify(password, user.getPassword())) {
             return authService.generateToken(user);
         }
         return null;
     }
 
+    /** Returns a user without the password hash, or null if there is none. */
     public User getUserById(int id) {
-        return userDao.getUserById(id);
+        User cached = cache.get(id);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long before = currentGeneration();
+        User loaded = userDao.getUserById(id);
+        if (loaded != null) {
+            store(loaded, before);
+        }
+        return loaded;
+    }
+
+    /** Updates a user's full name. Returns the updated user, or null if there is none. */
+    public User updateUser(User user) {
+        User updated = userDao.updateUser(user);
+        synchronized (cache) {
+            generation++;
+            cache.remove(user.getUserId());
+        }
+        return updated;
+    }
+
+    // Caches a copy of a freshly loaded user unless an update ran meanwhile.
+    private void store(User loaded, long before) {
+        synchronized (cache) {
+            if (generation == before) {
+                cache.put(loaded.getUserId(), copyOf(loaded));
+            }
+        }
+    }
+
+    private static long currentGeneration() {
+        synchronized (cache) {
+            return generation;
+        }
+    }
+
+    // Callers may modify what they get, so the cache hands out copies.
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setUserId(user.getUserId());
+        copy.setFullName(user.getFullName());
+        copy.setEmail(user.getEmail());
+        copy.setRole(user.getRole());
+        copy.setCreatedAt(user.getCreatedAt());
+        return copy;
+    }
+
+    // Metrics
+    public static int getUserCacheSize() {
+        return cache.size();
+    }
+
+    public static long getUserCacheHits() {
+        return cache.getHits();
+    }
+
+    public static long getUserCacheMisses() {
+        return cache.getMisses();
     }
 }
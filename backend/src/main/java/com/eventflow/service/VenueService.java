@@ -1,12 +1,13 @@
 package com.eventflow.service;
 
+import com.eventflow.dao.Storage;
 import com.eventflow.dao.VenueDao;
 import com.eventflow.model.Venue;
 
 import java.util.List;
 
 public class VenueService {
-    private final VenueDao venueDao = new VenueDao();
+    private final VenueDao venueDao = Storage.venueDao();
 
     public Venue createVenue(Venue venue, int organizerId) {
         venue.setCreatedBy(organizerId);
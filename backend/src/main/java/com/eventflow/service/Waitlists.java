@@ -0,0 +1,145 @@
+package com.eventflow.service;
+
+import com.eventflow.dao.RegistrationDao;
+import com.eventflow.dao.Storage;
+import com.eventflow.model.Registration;
+import com.eventflow.util.IntIntHashMap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory FIFO waitlists, one per event, mirroring the registrations whose
+ * status is 'waitlisted'. The table stays the source of truth; these queues
+ * answer "who is next" and "what is my position" without querying or
+ * locking the registrations of an event.
+ *
+ * <p>Every entry gets a ticket number in arrival order; the queue is a
+ * skip list keyed by ticket, so taking the head is a single atomic
+ * {@code pollFirstEntry} and an entry put back after a failed promotion
+ * regains its old place.
+ */
+class Waitlists {
+
+    private final ConcurrentHashMap<Integer, EventWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final RegistrationDao registrationDao = Storage.registrationDao();
+    // Once everything is loaded, an event missing from the map has nobody waiting
+    private volatile boolean loaded;
+
+    /** Loads every waitlist in one query. Called once at startup. */
+    void loadAll() {
+        List<Registration> waitlisted = registrationDao.getWaitlists();
+        Map<Integer, EventWaitlist> loadedWaitlists = new HashMap<>();
+        for (Registration registration : waitlisted) {
+            loadedWaitlists.computeIfAbsent(registration.getEventId(), id -> new EventWaitlist(Collections.emptyList()))
+                    .add(registration.getRegId(), registration.getUserId());
+        }
+        waitlists.putAll(loadedWaitlists);
+        loaded = true;
+    }
+
+    /** Returns the waitlist of an event, reading it from the database if it was never loaded. */
+    EventWaitlist get(int eventId) {
+        return waitlists.computeIfAbsent(eventId, id -> new EventWaitlist(
+                loaded ? Collections.emptyList() : registrationDao.getWaitlist(id)));
+    }
+
+    /** How many users wait for an event, without loading its waitlist. */
+    int size(int eventId) {
+        EventWaitlist waitlist = waitlists.get(eventId);
+        return waitlist != null ? waitlist.size() : 0;
+    }
+
+    void forget(int eventId) {
+        waitlists.remove(eventId);
+    }
+
+    static final class EventWaitlist {
+        private final ConcurrentSkipListMap<Long, Entry> queue = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<Integer, Long> ticketsByUser = new ConcurrentHashMap<>();
+        private final AtomicLong nextTicket = new AtomicLong();
+        private final AtomicInteger size = new AtomicInteger();
+
+        EventWaitlist(List<Registration> waitlisted) {
+            for (Registration registration : waitlisted) {
+                add(registration.getRegId(), registration.getUserId());
+            }
+        }
+
+        void add(int regId, int userId) {
+            long ticket = nextTicket.getAndIncrement();
+            ticketsByUser.put(userId, ticket);
+            queue.put(ticket, new Entry(ticket, regId, userId));
+            size.incrementAndGet();
+        }
+
+        /** Takes the head of the queue, or returns null if nobody is waiting. */
+        Entry poll() {
+            Map.Entry<Long, Entry> head = queue.pollFirstEntry();
+            if (head == null) {
+                return null;
+            }
+            size.decrementAndGet();
+            ticketsByUser.remove(head.getValue().userId, head.getKey());
+            return head.getValue();
+        }
+
+        /** Returns an entry taken by {@link #poll()} to its original place. */
+        void putBack(Entry entry) {
+            ticketsByUser.put(entry.userId, entry.ticket);
+            queue.put(entry.ticket, entry);
+            size.incrementAndGet();
+        }
+
+        void remove(int userId) {
+            Long ticket = ticketsByUser.remove(userId);
+            if (ticket != null && queue.remove(ticket) != null) {
+                size.decrementAndGet();
+            }
+        }
+
+        /**
+         * 1-based position of a user, or 0 if the user is not waiting. Counts
+         * the entries ahead, so for a whole list use {@link #positions()}.
+         */
+        int position(int userId) {
+            Long ticket = ticketsByUser.get(userId);
+            if (ticket == null) {
+                return 0;
+            }
+            return queue.headMap(ticket).size() + 1;
+        }
+
+        /** Every waiting user's 1-based position, from one pass over the queue. */
+        IntIntHashMap positions() {
+            IntIntHashMap positions = new IntIntHashMap(size.get());
+            int position = 0;
+            for (Entry entry : queue.values()) {
+                positions.put(entry.userId, ++position);
+            }
+            return positions;
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
+
+    static final class Entry {
+        final long ticket;
+        final int regId;
+        final int userId;
+
+        Entry(long ticket, int regId, int userId) {
+            this.ticket = ticket;
+            this.regId = regId;
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.eventflow.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Application settings from config.properties on the classpath. Any key can be
+ * overridden with a JVM system property of the same name (-Dkey=value).
+ */
+public final class AppConfig {
+
+    private static final Properties props = new Properties();
+
+    static {
+        try (InputStream input = AppConfig.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input == null) {
+                System.out.println("Sorry, unable to find config.properties");
+            } else {
+                props.load(input);
+            }
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private AppConfig() {}
+
+    public static String get(String key) {
+        return System.getProperty(key, props.getProperty(key));
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+}
@@ -1,105 +1,75 @@
 package com.eventflow.util;
 
+import com.eventflow.model.AuthPrincipal;
 import com.eventflow.service.AuthService;
-import io.jsonwebtoken.Claims;
-import spark.Request;
-import spark.Response;
 import spark.Spark;
 
-import java.util.Arrays;
-import java.util.List;
+import static com.eventflow.util.RouteAuthorizer.ADMIN;
+import static com.eventflow.util.RouteAuthorizer.ATTENDEE;
+import static com.eventflow.util.RouteAuthorizer.ORGANIZER;
 
 public class AuthMiddleware {
 
     private static AuthService authService = new AuthService();
 
+    // Access policy. Reads are public unless listed; writes outside /api/auth
+    // need a token, and are forbidden unless a rule below allows the caller.
+    private static final RouteAuthorizer authorizer = RouteAuthorizer.builder()
+            .defaultRule("POST,PUT,DELETE", RouteAuthorizer.DENY)
+            .publicRoute("*", "/api/auth/**")
+            .allow("POST", "/api/events", ORGANIZER | ADMIN)
+            .allow("PUT,DELETE", "/api/events/**", ORGANIZER | ADMIN)
+            .allow("POST,DELETE", "/api/events/:id/register", ATTENDEE)
+            // Users can access their own registrations, or admin can access any
+            .allowSelfOr("GET", "/api/users/:id/registrations", "id", ADMIN)
+            .allowSelfOr("PUT", "/api/users/:id", "id", ADMIN)
+            .allow("GET,POST", "/api/venues", ORGANIZER | ADMIN)
+            .allow("GET", "/api/organizer/events", ORGANIZER)
+            .allow("GET", "/api/organizer/events/:id/registrations", ORGANIZER)
+            .allow("GET", "/api/organizer/events/:id/registrations/export", ORGANIZER)
+            .allow("POST,PUT,DELETE", "/api/organizer/**", ORGANIZER)
+            .allow("GET", "/api/admin/registrations", ADMIN)
+            .build();
+
     public static void enableAuthMiddleware() {
         Spark.before((req, res) -> {
-            if (isProtectedRoute(req)) {
+            String path = req.pathInfo();
+            RouteAuthorizer.Rule rule = authorizer.match(req.requestMethod(), path);
+            if (rule.requiresAuth()) {
                 String token = req.headers("Authorization");
                 if (token == null || !token.startsWith("Bearer ")) {
                     Spark.halt(401, "{\"message\":\"Unauthorized\"}");
                 }
                 token = token.substring(7);
 
-                if (!authService.validateToken(token)) {
+                AuthPrincipal principal = authService.authenticate(token);
+                if (principal == null) {
                     Spark.halt(401, "{\"message\":\"Unauthorized\"}");
                 }
 
-                Claims claims = authService.getClaimsFromToken(token);
-                String role = claims.get("role", String.class);
+                String role = principal.getRole();
                 req.attribute("userRole", role);
-                req.attribute("userId", Integer.parseInt(claims.getSubject()));
+                req.attribute("userId", principal.getUserId());
 
-                if (!hasPermission(req, role)) {
+                if (!rule.permits(path, role, principal.getUserId())) {
                     Spark.halt(403, "{\"message\":\"Forbidden\"}");
                 }
+            } else if (req.requestMethod().equals("GET")) {
+                // Public reads may still be personalized: remember a valid
+                // token's user, but never refuse the request over the token.
+                String token = req.headers("Authorization");
+                if (token != null && token.startsWith("Bearer ")) {
+                    AuthPrincipal principal = authService.authenticate(token.substring(7));
+                    if (principal != null) {
+                        req.attribute("userRole", principal.getRole());
+                        req.attribute("userId", principal.getUserId());
+                    }
+                }
             }
         });
     }
 
-    private static boolean isProtectedRoute(Request req) {
-        String path = req.pathInfo();
-        String method = req.requestMethod();
-
-        // Do not protect OPTIONS pre-flight requests
-        if ("OPTIONS".equalsIgnoreCase(method)) {
-            return false;
-        }
-
-        // All POST, PUT, DELETE are protected (except auth routes)
-        if (Arrays.asList("POST", "PUT", "DELETE").contains(method) && !path.startsWith("/api/auth")) {
-            return true;
-        }
-
-        // Specific GET routes that are protected
-        if ("GET".equalsIgnoreCase(method)) {
-                                    List<String> protectedGetRoutes = Arrays.asList(
-                                            "/api/users/.*/registrations",
-                                            "/api/admin/registrations",
-                                            "/api/venues",
-                                            "/api/organizer/events",
-                                            "/api/organizer/events/.*/registrations"
-                                    );            return protectedGetRoutes.stream().anyMatch(path::matches);
-        }
-
-        return false;
-    }
-
-    private static boolean hasPermission(Request req, String role) {
-        String path = req.pathInfo();
-        String method = req.requestMethod();
-
-        if (path.equals("/api/events") && method.equals("POST")) {
-            return "organizer".equals(role) || "admin".equals(role);
-        }
-        if (path.matches("/api/events/.*") && (method.equals("PUT") || method.equals("DELETE"))) {
-            return "organizer".equals(role) || "admin".equals(role);
-        }
-        if (path.matches("/api/events/.*/register") && method.equals("POST")) {
-            return "attendee".equals(role);
-        }
-        if (path.matches("/api/users/.*/registrations") && method.equals("GET")) {
-            // User can access their own registrations, or admin can access any.
-            try {
-                int userIdFromToken = req.attribute("userId");
-                String[] parts = path.split("/");
-                int userIdFromPath = Integer.parseInt(parts[3]); // Assumes path is /api/users/{id}/registrations
-                return userIdFromToken == userIdFromPath || "admin".equals(role);
-            } catch (Exception e) {
-                return false; // Could be NumberFormatException or other issues
-            }
-        }
-        if (path.equals("/api/venues") && (method.equals("GET") || method.equals("POST"))) {
-            return "organizer".equals(role) || "admin".equals(role);
-        }
-        if (path.startsWith("/api/organizer/")) {
-            return "organizer".equals(role);
-        }
-        if (path.equals("/api/admin/registrations") && method.equals("GET")) {
-            return "admin".equals(role);
-        }
-        // For any other protected route, we can have a default
-        return false;
+    public static RouteAuthorizer getAuthorizer() {
+        return authorizer;
     }
 }
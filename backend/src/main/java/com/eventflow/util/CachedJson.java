@@ -0,0 +1,138 @@
+package com.eventflow.util;
+
+import com.google.gson.Gson;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A value together with its serialized JSON bytes and a strong ETag derived
+ * from those bytes, so a cache hit can be answered (or 304'd) without
+ * re-serializing. The gzip and deflate forms of the body are made the first
+ * time a client asks for them and kept, so a cache hit is not compressed
+ * again either.
+ */
+public class CachedJson<T> {
+
+    private final T value;
+    private final byte[] body;
+    private final String etag;
+
+    // Filled on first use; racing requests at worst compress twice
+    private volatile byte[] gzipBody;
+    private volatile byte[] deflateBody;
+
+    private CachedJson(T value, byte[] body, String etag) {
+        this.value = value;
+        this.body = body;
+        this.etag = etag;
+    }
+
+    public static <T> CachedJson<T> of(T value, Gson gson) {
+        byte[] body = gson.toJson(value).getBytes(StandardCharsets.UTF_8);
+        return new CachedJson<>(value, body, etagFor(body));
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /** The body in the given content coding. */
+    public byte[] getBody(ResponseCompression.Encoding encoding) {
+        switch (encoding) {
+            case GZIP:
+                byte[] gzip = gzipBody;
+                if (gzip == null) {
+                    gzipBody = gzip = ResponseCompression.compress(body, encoding);
+                }
+                return gzip;
+            case DEFLATE:
+                byte[] deflate = deflateBody;
+                if (deflate == null) {
+                    deflateBody = deflate = ResponseCompression.compress(body, encoding);
+                }
+                return deflate;
+            default:
+                return body;
+        }
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * The ETag of the body in the given content coding. Each coding is its own
+     * representation with its own bytes, so it gets its own strong tag.
+     */
+    public String getEtag(ResponseCompression.Encoding encoding) {
+        return getEtag(encoding, null);
+    }
+
+    /**
+     * The ETag of a variant of the body, such as the cached body with one
+     * user's data spliced in. {@code variant} must identify that data exactly;
+     * null means the cached body itself.
+     */
+    public String getEtag(ResponseCompression.Encoding encoding, String variant) {
+        if (encoding == ResponseCompression.Encoding.IDENTITY) {
+            return base(variant) + '"';
+        }
+        return base(variant) + "--" + encoding.getToken() + '"';
+    }
+
+    /**
+     * Whether an If-None-Match header value matches this entry. Uses the weak
+     * comparison RFC 9110 prescribes for If-None-Match, so a "W/" prefix added
+     * by an intermediary still matches, and accepts the tag of any coding: a
+     * client holding the gzip form has current content even if it now asks
+     * for another.
+     */
+    public boolean matches(String ifNoneMatch) {
+        return matches(ifNoneMatch, null);
+    }
+
+    /** Like {@link #matches(String)} for the tags of one variant; see {@link #getEtag(ResponseCompression.Encoding, String)}. */
+    public boolean matches(String ifNoneMatch, String variant) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String base = base(variant);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(base + '"')
+                    || (tag.startsWith(base + "--") && tag.endsWith("\""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The tag without its closing quote
+    private String base(String variant) {
+        String base = etag.substring(0, etag.length() - 1);
+        return variant == null ? base : base + '-' + variant;
+    }
+
+    private static String etagFor(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder sb = new StringBuilder(34).append('"');
+            for (int i = 0; i < 16; i++) {
+                sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
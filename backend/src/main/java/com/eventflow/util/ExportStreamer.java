@@ -0,0 +1,156 @@
+package com.eventflow.util;
+
+import com.google.gson.Gson;
+import spark.Request;
+import spark.Response;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes a download (CSV or newline-delimited JSON) straight to the servlet
+ * output stream as rows arrive from the database. Only one row and the
+ * writer buffers are held at a time, so memory stays flat however many rows
+ * the export has.
+ *
+ * <p>The body is compressed on the fly in whichever coding
+ * {@link ResponseCompression} negotiates from {@code Accept-Encoding}.
+ */
+public final class ExportStreamer {
+
+    public enum Format {
+        CSV("text/csv; charset=utf-8", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        /** Parses the {@code format} query parameter; CSV when absent, null when unknown. */
+        public static Format fromParam(String value) {
+            if (value == null || value.isEmpty()) {
+                return CSV;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** One CSV column: its header and how to read it from a row. */
+    public static final class Column<T> {
+        final String header;
+        final Function<T, Object> value;
+
+        public Column(String header, Function<T, Object> value) {
+            this.header = header;
+            this.value = value;
+        }
+    }
+
+    private ExportStreamer() {}
+
+    /**
+     * Streams every row produced by {@code source} as an attachment named
+     * {@code baseName} plus the format's extension, and returns the empty
+     * string for the Spark route to hand back. Errors are handled as in
+     * {@link JsonStreamer#streamArray}: rethrown while nothing was sent,
+     * logged once the response is committed.
+     */
+    public static <T> String stream(Request req, Response res, Format format, String baseName, Gson gson,
+                                    Class<T> type, List<Column<T>> columns,
+                                    JsonStreamer.RowSource<T> source) throws IOException {
+        res.type(format.contentType);
+        res.header("Content-Disposition", "attachment; filename=\"" + baseName + "." + format.extension + "\"");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                ResponseCompression.outputStream(req, res), StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                writeCsvHeader(writer, columns);
+                source.forEachRow(row -> writeCsvRow(writer, columns, row));
+            } else {
+                source.forEachRow(row -> {
+                    gson.toJson(row, type, writer);
+                    writer.write('\n');
+                });
+            }
+            // Closing finishes the compressed stream and commits the response, so
+            // Spark does not append a body of its own afterwards.
+            writer.close();
+        } catch (RuntimeException e) {
+            if (!res.raw().isCommitted()) {
+                ResponseCompression.discard(res);
+                res.raw().setHeader("Content-Disposition", null);
+                res.type("application/json");
+                throw e;
+            }
+            System.err.println("Export aborted: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return "";
+    }
+
+    private static <T> void writeCsvHeader(Writer writer, List<Column<T>> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(writer, columns.get(i).header);
+        }
+        writer.write("\r\n");
+    }
+
+    private static <T> void writeCsvRow(Writer writer, List<Column<T>> columns, T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = columns.get(i).value.apply(row);
+            if (value instanceof String) {
+                writeCsvField(writer, defuseFormula((String) value));
+            } else if (value != null) {
+                writeCsvField(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Prefixes text that starts with a formula character with a quote, so
+     * spreadsheets do not evaluate user-supplied names as formulas.
+     */
+    private static String defuseFormula(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    /** Writes one RFC 4180 field, quoted only when it has to be. */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -2,41 +2,297 @@ package com.eventflow.util;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Connection pools for the JDBC storage engine: the primary pool on
+ * {@code db.url}, which takes every write, and, when {@code db.read.url} is
+ * set, a read-only pool on a replica for the DAO reads that can tolerate
+ * replication lag. Without a replica, reads share the primary pool.
+ *
+ * <p>Read-your-writes is tracked per client, not for the whole process:
+ * after a request writes a table, the rest of that request (such as the
+ * event cache refill after an event write) reads it from the primary, and so
+ * do that user's later requests for {@code db.read.maxLagMs}. Everyone
+ * else keeps reading the replica. Request filters bind each request thread
+ * to its user with {@link #bindClient(Integer)}.
+ */
 public class HikariCPDataSource {
 
-    private static HikariConfig config = new HikariConfig();
-    private static HikariDataSource ds;
+    /** The tables whose reads may go to the replica, tracked for read-your-writes. */
+    public enum Table {
+        EVENTS, REGISTRATIONS, VENUES
+    }
+
+    private static final Pool primary = new Pool("primary", "db.", "db.url", "db.user", "db.password");
+    private static final Pool replica = AppConfig.get("db.read.url") != null
+            ? new Pool("replica", "db.read.", "db.read.url", "db.read.user", "db.read.password")
+            : null;
+
+    private static final long MAX_LAG_NANOS = AppConfig.getInt("db.read.maxLagMs", 1000) * 1_000_000L;
+    // Expired markers are swept once the map grows past this many users
+    private static final int MARKER_SWEEP_SIZE = 1024;
 
-    static {
-        Properties props = new Properties();
-        try (InputStream input = HikariCPDataSource.class.getClassLoader().getResourceAsStream("config.properties")) {
-            if (input == null) {
-                System.out.println("Sorry, unable to find config.properties");
+    // The request the current thread is serving, see bindClient
+    private static final ThreadLocal<ClientScope> clientScope = new ThreadLocal<>();
+    // Per user, per Table: System.nanoTime() until which their reads stay on the primary
+    private static final Map<Integer, AtomicLongArray> primaryUntil = new ConcurrentHashMap<>();
+
+    private HikariCPDataSource() {}
+
+    /** Startup work done on each pooled connection, see {@link #warmConnections(ConnectionWarmer)}. */
+    @FunctionalInterface
+    public interface ConnectionWarmer {
+        void warm(Connection conn) throws SQLException;
+    }
+
+    /** A connection to the primary, for writes and for reads that must see them. */
+    public static Connection getConnection() throws SQLException {
+        return primary.getConnection();
+    }
+
+    /**
+     * A connection for a read of {@code table} that may lag behind the
+     * primary: from the replica, unless there is none, or the current
+     * request or its user wrote the table within {@code db.read.maxLagMs}.
+     */
+    public static Connection getReadConnection(Table table) throws SQLException {
+        if (replica == null || mustReadPrimary(table)) {
+            return primary.getConnection();
+        }
+        return replica.getConnection();
+    }
+
+    /**
+     * Records a committed write to {@code table} by the current request,
+     * keeping its own and its user's reads of the table on the primary for a
+     * while. Writes outside a request have no client to keep it for.
+     */
+    public static void markWritten(Table table) {
+        ClientScope scope = clientScope.get();
+        if (replica == null || scope == null) {
+            return;
+        }
+        scope.written |= 1 << table.ordinal();
+        if (scope.userId != null) {
+            long until = System.nanoTime() + MAX_LAG_NANOS;
+            primaryUntil.compute(scope.userId, (userId, tables) -> {
+                AtomicLongArray marked = tables != null ? tables : new AtomicLongArray(Table.values().length);
+                marked.set(table.ordinal(), until);
+                return marked;
+            });
+            if (primaryUntil.size() > MARKER_SWEEP_SIZE) {
+                sweepMarkers();
             }
-            props.load(input);
-        } catch (IOException ex) {
-            ex.printStackTrace();
         }
+    }
 
-        config.setJdbcUrl(props.getProperty("db.url"));
-        config.setUsername(props.getProperty("db.user"));
-        config.setPassword(props.getProperty("db.password"));
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        ds = new HikariDataSource(config);
+    /** Binds the current request thread to its user, or to no one when anonymous. */
+    public static void bindClient(Integer userId) {
+        clientScope.set(new ClientScope(userId));
     }
 
-    private HikariCPDataSource() {}
+    /** Ends the request bound by {@link #bindClient(Integer)}. */
+    public static void unbindClient() {
+        clientScope.remove();
+    }
 
-    public static Connection getConnection() throws SQLException {
-        return ds.getConnection();
+    private static boolean mustReadPrimary(Table table) {
+        ClientScope scope = clientScope.get();
+        if (scope == null) {
+            return false;
+        }
+        if ((scope.written & 1 << table.ordinal()) != 0) {
+            return true;
+        }
+        AtomicLongArray tables = scope.userId != null ? primaryUntil.get(scope.userId) : null;
+        return tables != null && System.nanoTime() - tables.get(table.ordinal()) < 0;
+    }
+
+    // Drops the markers of users whose every table has expired
+    private static void sweepMarkers() {
+        long now = System.nanoTime();
+        for (Integer userId : primaryUntil.keySet()) {
+            primaryUntil.computeIfPresent(userId, (id, tables) -> {
+                for (int i = 0; i < tables.length(); i++) {
+                    if (now - tables.get(i) < 0) {
+                        return tables;
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    /** What read-your-writes knows about the request a thread is serving. */
+    private static final class ClientScope {
+        final Integer userId;
+        // Bit per Table ordinal: tables this request has written
+        int written;
+
+        ClientScope(Integer userId) {
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * Startup warm-up: opens each pool's {@code pool.minIdle} connections
+     * now, instead of leaving Hikari to fill the pool in the background
+     * while the first requests wait.
+     */
+    public static void openPools() {
+        try {
+            warmConnections(conn -> {});
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to open the connection pools", e);
+        }
+    }
+
+    /**
+     * Checks out {@code pool.minIdle} connections of each pool at the same
+     * time, which opens any that are not open yet, passes each one to
+     * {@code warmer} and returns them all to their pool.
+     */
+    public static void warmConnections(ConnectionWarmer warmer) throws SQLException {
+        primary.warmConnections(warmer);
+        if (replica != null) {
+            replica.warmConnections(warmer);
+        }
+    }
+
+    // Metrics
+    public static Pool getPrimary() {
+        return primary;
+    }
+
+    /** The replica pool, or null when {@code db.read.url} is not set. */
+    public static Pool getReplica() {
+        return replica;
+    }
+
+    /** One HikariCP pool with its own size, waiter bound and checkout metrics. */
+    public static final class Pool {
+        private final String name;
+        private final HikariDataSource ds;
+
+        // Bounds how many threads may queue for a connection at once (0 = unbounded).
+        // Beyond that getConnection fails at once, the same way a pool timeout would.
+        private final Semaphore waiters;
+
+        // Filled in by Hikari's metrics tracker on every checkout
+        private final LatencyHistogram acquireTime = new LatencyHistogram();
+        private final LongAdder acquireTimeouts = new LongAdder();
+        private final LongAdder waiterRejections = new LongAdder();
+
+        /**
+         * Pool settings are read under {@code prefix} ({@code pool.maxSize},
+         * {@code pool.minIdle}, {@code pool.connectionTimeoutMs},
+         * {@code pool.maxWaiters}); the replica falls back to the primary's
+         * sizes and credentials.
+         */
+        private Pool(String name, String prefix, String urlKey, String userKey, String passwordKey) {
+            this.name = name;
+            int maxWaiters = AppConfig.getInt(prefix + "pool.maxWaiters", AppConfig.getInt("db.pool.maxWaiters", 0));
+            this.waiters = maxWaiters > 0 ? new Semaphore(maxWaiters) : null;
+
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(AppConfig.get(urlKey));
+            config.setUsername(AppConfig.get(userKey, AppConfig.get("db.user")));
+            config.setPassword(AppConfig.get(passwordKey, AppConfig.get("db.password")));
+            config.setMaximumPoolSize(AppConfig.getInt(prefix + "pool.maxSize", AppConfig.getInt("db.pool.maxSize", 10)));
+            // Hikari keeps the pool at its maximum size unless told otherwise
+            config.setMinimumIdle(AppConfig.getInt(prefix + "pool.minIdle",
+                    AppConfig.getInt("db.pool.minIdle", config.getMaximumPoolSize())));
+            config.setConnectionTimeout(AppConfig.getInt(prefix + "pool.connectionTimeoutMs",
+                    AppConfig.getInt("db.pool.connectionTimeoutMs", 30_000)));
+            config.setReadOnly(!name.equals("primary"));
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "250");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    acquireTime.recordNanos(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    acquireTimeouts.increment();
+                }
+            });
+            this.ds = new HikariDataSource(config);
+        }
+
+        private void warmConnections(ConnectionWarmer warmer) throws SQLException {
+            int minIdle = Math.min(ds.getMinimumIdle(), ds.getMaximumPoolSize());
+            List<Connection> held = new ArrayList<>(minIdle);
+            try {
+                while (held.size() < minIdle) {
+                    Connection conn = ds.getConnection();
+                    held.add(conn);
+                    warmer.warm(conn);
+                }
+            } finally {
+                for (Connection conn : held) {
+                    try {
+                        conn.close();
+                    } catch (SQLException e) {
+                        System.err.println("Error returning warmed connection: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        Connection getConnection() throws SQLException {
+            if (waiters == null) {
+                return ds.getConnection();
+            }
+            if (!waiters.tryAcquire()) {
+                waiterRejections.increment();
+                throw new SQLTransientConnectionException("Too many requests waiting for a database connection");
+            }
+            try {
+                return ds.getConnection();
+            } finally {
+                waiters.release();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariPoolMXBean getPoolStats() {
+            return ds.getHikariPoolMXBean();
+        }
+
+        public int getMaximumPoolSize() {
+            return ds.getMaximumPoolSize();
+        }
+
+        public LatencyHistogram getAcquireTime() {
+            return acquireTime;
+        }
+
+        public long getAcquireTimeouts() {
+            return acquireTimeouts.sum();
+        }
+
+        public long getWaiterRejections() {
+            return waiterRejections.sum();
+        }
     }
 }
@@ -0,0 +1,56 @@
+package com.eventflow.util;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import spark.Request;
+import spark.Response;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a JSON array straight to the servlet output stream as rows arrive
+ * from the database, instead of building a List and then a String. The
+ * body is compressed as {@link ResponseCompression} negotiates.
+ */
+public final class JsonStreamer {
+
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEachRow(RowHandler<T> handler);
+    }
+
+    private JsonStreamer() {}
+
+    /**
+     * Streams every row produced by {@code source} as one JSON array and returns
+     * the empty string for the Spark route to hand back. If the query fails
+     * before anything reached the client the buffer is discarded and the
+     * exception rethrown, so the caller can still answer with a 500. Once the
+     * response is committed the status can no longer change and the response
+     * is simply cut short.
+     */
+    public static <T> String streamArray(Request req, Response res, Gson gson, Class<T> type,
+                                         RowSource<T> source) throws IOException {
+        res.type("application/json");
+        JsonWriter writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(ResponseCompression.outputStream(req, res), StandardCharsets.UTF_8)));
+        try {
+            writer.beginArray();
+            source.forEachRow(row -> gson.toJson(row, type, writer));
+            writer.endArray();
+            // Closing finishes any compressed stream and commits the response
+            writer.close();
+        } catch (RuntimeException e) {
+            if (!res.raw().isCommitted()) {
+                ResponseCompression.discard(res);
+                throw e;
+            }
+            System.err.println("Streaming response aborted: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return "";
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventflow.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, thread-safe map that evicts the least recently used entry
+ * once {@code maxEntries} is exceeded.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> map;
+
+    public LruCache(int maxEntries) {
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    /** Stores the value unless the key is present, and returns whichever value is cached afterwards. */
+    public synchronized V putIfAbsent(K key, V value) {
+        V current = map.get(key);
+        if (current != null) {
+            return current;
+        }
+        map.put(key, value);
+        return value;
+    }
+
+    /** Replaces the value of a cached key atomically; a null result removes the entry. */
+    public synchronized V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        return map.computeIfPresent(key, remapping);
+    }
+
+    public synchronized void remove(K key) {
+        map.remove(key);
+    }
+
+    public synchronized void removeIf(Predicate<V> predicate) {
+        map.values().removeIf(predicate);
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventflow.util;
+
+/**
+ * Helpers for writing the Prometheus text exposition format (version 0.0.4).
+ */
+public final class PrometheusText {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusText() {}
+
+    /** Writes the HELP and TYPE lines of a metric. */
+    public static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /** Writes a metric that has a single unlabelled sample. */
+    public static void metric(StringBuilder out, String name, String type, String help, double value) {
+        header(out, name, type, help);
+        sample(out, name, null, value);
+    }
+
+    /** Writes one sample line; {@code labels} is the text between the braces, or null. */
+    public static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null && !labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /** Escapes a label value. */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventflow.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Startup progress behind {@code /health/ready}. Main runs each startup
+ * phase through {@link #phase(String, Runnable)}, which times and logs it,
+ * and calls {@link #markReady()} after the last one. Until then the server
+ * may already answer requests, but they pay for whatever is still cold, so
+ * load balancers should keep traffic away.
+ */
+public final class Readiness {
+
+    // Phase name -> milliseconds, in the order the phases ran
+    private static final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    private static volatile String currentPhase;
+    private static volatile boolean ready;
+    private static volatile long readyAfterMillis;
+
+    private Readiness() {}
+
+    /** Runs one startup phase, recording and logging how long it took. */
+    public static void phase(String name, Runnable work) {
+        currentPhase = name;
+        long start = System.nanoTime();
+        work.run();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        synchronized (phaseMillis) {
+            phaseMillis.put(name, millis);
+        }
+        System.out.println("Startup phase " + name + ": " + millis + " ms");
+    }
+
+    /** Marks startup complete; {@code /health/ready} answers 200 from now on. */
+    public static void markReady() {
+        readyAfterMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        currentPhase = null;
+        ready = true;
+        System.out.println("Ready " + readyAfterMillis + " ms after JVM start " + getPhaseMillis());
+    }
+
+    public static boolean isReady() {
+        return ready;
+    }
+
+    /** The phase running now, or null before the first one and once ready. */
+    public static String getCurrentPhase() {
+        return currentPhase;
+    }
+
+    /** Milliseconds since JVM start at which the server became ready, or 0 if it is not yet. */
+    public static long getReadyAfterMillis() {
+        return readyAfterMillis;
+    }
+
+    /** The durations of the phases finished so far, in milliseconds, in the order they ran. */
+    public static Map<String, Long> getPhaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.eventflow.util;
+
+import spark.Spark;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional cap on requests in flight. With virtual threads Jetty itself no
+ * longer limits concurrency, so this is the knob that keeps a flood of
+ * clients from queueing unboundedly behind the connection pool. Requests
+ * that cannot get a permit within the wait time are answered 503.
+ */
+public class RequestLimiter {
+
+    private static final String PERMIT_ATTRIBUTE = "requestLimiter.permit";
+
+    private static Semaphore permits;
+
+    public static void enableRequestLimiter(int maxConcurrentRequests, long maxWaitMillis) {
+        permits = new Semaphore(maxConcurrentRequests);
+
+        Spark.before((req, res) -> {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                res.header("Retry-After", "1");
+                Spark.halt(503, "{\"message\":\"Server is busy, please retry\"}");
+            }
+            req.attribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        });
+
+        // afterAfter runs even when a filter halted or a route threw, so every
+        // permit taken above is handed back exactly once.
+        Spark.afterAfter((req, res) -> {
+            if (req.attribute(PERMIT_ATTRIBUTE) != null) {
+                req.raw().removeAttribute(PERMIT_ATTRIBUTE);
+                permits.release();
+            }
+        });
+    }
+
+    public static int getAvailablePermits() {
+        return permits != null ? permits.availablePermits() : -1;
+    }
+}
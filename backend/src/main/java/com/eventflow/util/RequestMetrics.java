@@ -0,0 +1,120 @@
+package com.eventflow.util;
+
+import spark.Request;
+import spark.Spark;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route request instrumentation: a latency histogram, a counter per
+ * status code and an in-flight gauge for every route template.
+ *
+ * <p>A before-filter registered ahead of every other filter notes the start
+ * time and route; an afterAfter-filter, which Spark runs even when a filter
+ * halted or a route threw, records the outcome. Latency therefore covers
+ * CORS, admission, authentication and the handler, including the time a
+ * streamed body took to write. Recording only touches atomics.
+ */
+public final class RequestMetrics {
+
+    private static final String START_ATTRIBUTE = "requestMetrics.start";
+    private static final String ROUTE_ATTRIBUTE = "requestMetrics.route";
+
+    private static final ConcurrentHashMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private static volatile RouteTemplates templates;
+
+    private RequestMetrics() {}
+
+    /** Registers the filters. Call before any other filter so the timing covers them. */
+    public static void enableRequestMetrics() {
+        Spark.before((req, res) -> {
+            RouteStats stats = statsFor(req);
+            stats.inFlight.incrementAndGet();
+            req.attribute(ROUTE_ATTRIBUTE, stats);
+            req.attribute(START_ATTRIBUTE, System.nanoTime());
+        });
+
+        Spark.afterAfter((req, res) -> {
+            RouteStats stats = req.attribute(ROUTE_ATTRIBUTE);
+            Long start = req.attribute(START_ATTRIBUTE);
+            if (stats == null || start == null) {
+                return;
+            }
+            req.raw().removeAttribute(ROUTE_ATTRIBUTE);
+            stats.inFlight.decrementAndGet();
+            stats.latency.recordNanos(System.nanoTime() - start);
+            stats.statusCounter(res.raw().getStatus()).increment();
+        });
+    }
+
+    /** Reads the route templates. Call once every route is mapped. */
+    public static void indexRoutes() {
+        templates = RouteTemplates.fromSparkRoutes();
+    }
+
+    private static RouteStats statsFor(Request req) {
+        RouteTemplates current = templates;
+        String route = current != null
+                ? current.match(req.requestMethod(), req.pathInfo())
+                : RouteTemplates.UNMATCHED;
+        RouteStats stats = routes.get(route);
+        return stats != null ? stats : routes.computeIfAbsent(route, RouteStats::new);
+    }
+
+    /** Appends the request metrics in Prometheus text format. */
+    public static void writePrometheus(StringBuilder out) {
+        Map<String, RouteStats> sorted = new TreeMap<>(routes);
+
+        PrometheusText.header(out, "http_request_duration_seconds", "summary",
+                "Request latency per route since startup.");
+        for (RouteStats stats : sorted.values()) {
+            String labels = "route=\"" + PrometheusText.escape(stats.route) + "\"";
+            for (double quantile : new double[] {0.5, 0.99, 0.999}) {
+                PrometheusText.sample(out, "http_request_duration_seconds",
+                        labels + ",quantile=\"" + quantile + "\"",
+                        stats.latency.getQuantileMicros(quantile) / 1e6);
+            }
+            PrometheusText.sample(out, "http_request_duration_seconds_sum", labels,
+                    stats.latency.getSumMicros() / 1e6);
+            PrometheusText.sample(out, "http_request_duration_seconds_count", labels,
+                    stats.latency.getCount());
+        }
+
+        PrometheusText.header(out, "http_requests_total", "counter",
+                "Completed requests per route and status code.");
+        for (RouteStats stats : sorted.values()) {
+            String route = PrometheusText.escape(stats.route);
+            for (Map.Entry<Integer, LongAdder> status : new TreeMap<>(stats.statuses).entrySet()) {
+                PrometheusText.sample(out, "http_requests_total",
+                        "route=\"" + route + "\",status=\"" + status.getKey() + "\"", status.getValue().sum());
+            }
+        }
+
+        PrometheusText.header(out, "http_requests_in_flight", "gauge",
+                "Requests currently being served per route.");
+        for (RouteStats stats : sorted.values()) {
+            PrometheusText.sample(out, "http_requests_in_flight",
+                    "route=\"" + PrometheusText.escape(stats.route) + "\"", stats.inFlight.get());
+        }
+    }
+
+    private static final class RouteStats {
+        final String route;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        RouteStats(String route) {
+            this.route = route;
+        }
+
+        LongAdder statusCounter(int status) {
+            LongAdder counter = statuses.get(status);
+            return counter != null ? counter : statuses.computeIfAbsent(status, s -> new LongAdder());
+        }
+    }
+}
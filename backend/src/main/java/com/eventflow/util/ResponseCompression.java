@@ -0,0 +1,240 @@
+package com.eventflow.util;
+
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-coding negotiation for response bodies: gzip or deflate, chosen
+ * from {@code Accept-Encoding} with its q-values, for bodies of at least
+ * {@code compression.minBytes}. Smaller bodies are sent as they are, since
+ * the coding overhead would outweigh the saving.
+ *
+ * <p>Compressed bytes are written to the servlet stream directly. Spark
+ * would otherwise gzip any body whose response says
+ * {@code Content-Encoding: gzip} a second time, and it cannot deflate at
+ * all; once the response is committed Spark leaves it alone.
+ */
+public final class ResponseCompression {
+
+    public enum Encoding {
+        GZIP("gzip"),
+        DEFLATE("deflate"),
+        IDENTITY("identity");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String getToken() {
+            return token;
+        }
+    }
+
+    private static final boolean ENABLED = AppConfig.getBoolean("compression.enabled", true);
+    private static final int MIN_BYTES = Math.max(1, AppConfig.getInt("compression.minBytes", 1024));
+    private static final int LEVEL = AppConfig.getInt("compression.level", Deflater.DEFAULT_COMPRESSION);
+
+    private ResponseCompression() {}
+
+    /** The coding to send a body of {@code length} bytes in; IDENTITY below the size threshold. */
+    public static Encoding choose(Request req, int length) {
+        return length < MIN_BYTES ? Encoding.IDENTITY : negotiate(req.headers("Accept-Encoding"));
+    }
+
+    /**
+     * Picks gzip or deflate from an Accept-Encoding value by q-value (gzip
+     * wins ties, {@code *} stands for codings not listed, q=0 refuses), or
+     * IDENTITY when neither is acceptable or compression is turned off.
+     */
+    public static Encoding negotiate(String acceptEncoding) {
+        if (!ENABLED || acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return Encoding.IDENTITY;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = Math.max(gzip, q);
+                case "deflate" -> deflate = Math.max(deflate, q);
+                case "*" -> any = q;
+                default -> { }
+            }
+        }
+        if (gzip < 0) {
+            gzip = any;
+        }
+        if (deflate < 0) {
+            deflate = any;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return Encoding.GZIP;
+        }
+        return deflate > 0 ? Encoding.DEFLATE : Encoding.IDENTITY;
+    }
+
+    /** Compresses a whole body into the given coding. */
+    public static byte[] compress(byte[] body, Encoding encoding) {
+        if (encoding == Encoding.IDENTITY) {
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream compressing = wrap(out, encoding)) {
+            compressing.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress response", e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Sends a JSON body, compressed when the client accepts it and it is large
+     * enough, and returns what the Spark route should hand back.
+     */
+    public static Object send(Request req, Response res, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        Encoding encoding = choose(req, body.length);
+        res.header("Vary", "Accept-Encoding");
+        return send(res, compress(body, encoding), encoding);
+    }
+
+    /**
+     * Sends a body that is already in {@code encoding} (say a cached,
+     * precompressed one) and returns what the Spark route should hand back.
+     */
+    public static Object send(Response res, byte[] body, Encoding encoding) throws IOException {
+        if (encoding == Encoding.IDENTITY) {
+            return body;
+        }
+        HttpServletResponse raw = res.raw();
+        raw.setHeader("Content-Encoding", encoding.getToken());
+        raw.setContentLength(body.length);
+        OutputStream out = raw.getOutputStream();
+        out.write(body);
+        out.close();
+        return "";
+    }
+
+    /**
+     * An output stream for a body of unknown length. The first
+     * {@code compression.minBytes} are held back; a body that ends within
+     * them goes out as it is, a longer one is compressed from the start.
+     * Closing the stream completes and commits the response. Call
+     * {@link #discard(Response)} instead if the body has to be replaced.
+     */
+    public static OutputStream outputStream(Request req, Response res) throws IOException {
+        Encoding encoding = negotiate(req.headers("Accept-Encoding"));
+        res.header("Vary", "Accept-Encoding");
+        if (encoding == Encoding.IDENTITY) {
+            return res.raw().getOutputStream();
+        }
+        return new ThresholdStream(res.raw(), encoding);
+    }
+
+    /** Drops an uncommitted streamed body and its coding so an error can be sent in its place. */
+    public static void discard(Response res) {
+        res.raw().resetBuffer();
+        res.raw().setHeader("Content-Encoding", null);
+    }
+
+    private static OutputStream wrap(OutputStream out, Encoding encoding) throws IOException {
+        if (encoding == Encoding.GZIP) {
+            return new GZIPOutputStream(out, 8192) {
+                {
+                    def.setLevel(LEVEL);
+                }
+            };
+        }
+        // HTTP "deflate" is the zlib format (RFC 9110), which Deflater writes by default
+        return new DeflaterOutputStream(out, new Deflater(LEVEL), 8192) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    def.end();
+                }
+            }
+        };
+    }
+
+    private static final class ThresholdStream extends OutputStream {
+        private final HttpServletResponse raw;
+        private final Encoding encoding;
+        private byte[] pending = new byte[MIN_BYTES];
+        private int count;
+        private OutputStream out;
+
+        ThresholdStream(HttpServletResponse raw, Encoding encoding) {
+            this.raw = raw;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null && count + len <= pending.length) {
+                System.arraycopy(b, off, pending, count, len);
+                count += len;
+                return;
+            }
+            if (out == null) {
+                raw.setHeader("Content-Encoding", encoding.getToken());
+                out = wrap(raw.getOutputStream(), encoding);
+                out.write(pending, 0, count);
+                pending = null;
+            }
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Below the threshold nothing is sent yet; the decision waits for more bytes or close()
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out == null) {
+                OutputStream direct = raw.getOutputStream();
+                raw.setContentLength(count);
+                direct.write(pending, 0, count);
+                direct.close();
+            } else {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.eventflow.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route authorization compiled from a declarative policy table into one
+ * path-segment trie per HTTP method.
+ *
+ * <p>Patterns are made of literal segments, {@code :name} (any single segment)
+ * and a trailing {@code **} (one or more remaining segments). At lookup a
+ * literal segment wins over {@code :name}, which wins over {@code **}.
+ * Requests matching no pattern get the method's default rule. Matching walks
+ * the path in place with {@code indexOf}/{@code regionMatches} and returns
+ * one of the rules built at startup, so the per-request cost involves no
+ * regex and no allocation.
+ */
+public final class RouteAuthorizer {
+
+    public static final int ATTENDEE = 1;
+    public static final int ORGANIZER = 1 << 1;
+    public static final int ADMIN = 1 << 2;
+
+    /** No token needed. */
+    public static final Rule PUBLIC = new Rule(false, 0, -1);
+    /** Token needed, but no role may proceed (403 once authenticated). */
+    public static final Rule DENY = new Rule(true, 0, -1);
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "PATCH"};
+    private static final int OTHER_METHOD = METHODS.length;
+
+    private final Node[] roots;
+    private final Rule[] defaults;
+
+    private RouteAuthorizer(Node[] roots, Rule[] defaults) {
+        this.roots = roots;
+        this.defaults = defaults;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Returns the rule governing {@code method path}; never null. */
+    public Rule match(String method, String path) {
+        int m = methodIndex(method);
+        int start = path.startsWith("/") ? 1 : 0;
+        Rule rule = match(roots[m], path, start);
+        return rule != null ? rule : defaults[m];
+    }
+
+    private static Rule match(Node node, String path, int start) {
+        if (start < 0) {
+            return node.rule;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int next = end < path.length() ? end + 1 : -1;
+        int length = end - start;
+
+        for (int i = 0; i < node.literals.length; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == length && path.regionMatches(start, literal, 0, length)) {
+                Rule rule = match(node.children[i], path, next);
+                if (rule != null) {
+                    return rule;
+                }
+            }
+        }
+        if (node.param != null) {
+            Rule rule = match(node.param, path, next);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.tailRule;
+    }
+
+    private static int methodIndex(String method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return OTHER_METHOD;
+    }
+
+    public static int roleBit(String role) {
+        if (role == null) {
+            return 0;
+        }
+        switch (role) {
+            case "attendee":
+                return ATTENDEE;
+            case "organizer":
+                return ORGANIZER;
+            case "admin":
+                return ADMIN;
+            default:
+                return 0;
+        }
+    }
+
+    /** What a matched route requires of the caller. */
+    public static final class Rule {
+        private final boolean requiresAuth;
+        private final int allowedRoles;
+        private final int selfSegment;
+
+        private Rule(boolean requiresAuth, int allowedRoles, int selfSegment) {
+            this.requiresAuth = requiresAuth;
+            this.allowedRoles = allowedRoles;
+            this.selfSegment = selfSegment;
+        }
+
+        public boolean requiresAuth() {
+            return requiresAuth;
+        }
+
+        /**
+         * Whether an authenticated caller may proceed: either their role is
+         * allowed, or the rule has a self segment and it equals their user ID.
+         */
+        public boolean permits(String path, String role, int userId) {
+            if ((allowedRoles & roleBit(role)) != 0) {
+                return true;
+            }
+            return selfSegment >= 0 && segmentEquals(path, selfSegment, userId);
+        }
+
+        // Parses the n-th path segment as a non-negative int in place and compares it.
+        private static boolean segmentEquals(String path, int n, int value) {
+            int start = path.startsWith("/") ? 1 : 0;
+            for (int i = 0; i < n; i++) {
+                start = path.indexOf('/', start) + 1;
+                if (start == 0) {
+                    return false;
+                }
+            }
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end == start || end - start > 10) {
+                return false;
+            }
+            long parsed = 0;
+            for (int i = start; i < end; i++) {
+                char c = path.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+                parsed = parsed * 10 + (c - '0');
+            }
+            return parsed == value;
+        }
+    }
+
+    private static final class Node {
+        String[] literals = new String[0];
+        Node[] children = new Node[0];
+        Node param;
+        Rule rule;
+        Rule tailRule;
+
+        Node literal(String segment) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            String[] newLiterals = new String[literals.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(literals, 0, newLiterals, 0, literals.length);
+            System.arraycopy(children, 0, newChildren, 0, children.length);
+            newLiterals[literals.length] = segment;
+            newChildren[children.length] = new Node();
+            literals = newLiterals;
+            children = newChildren;
+            return newChildren[children.length - 1];
+        }
+    }
+
+    /**
+     * Collects the policy table. Method lists are comma-separated ("PUT,DELETE")
+     * or "*" for every method. Unlisted requests are public unless a default
+     * rule says otherwise.
+     */
+    public static final class Builder {
+        private final Node[] roots = new Node[METHODS.length + 1];
+        private final Rule[] defaults = new Rule[METHODS.length + 1];
+
+        private Builder() {
+            for (int i = 0; i < roots.length; i++) {
+                roots[i] = new Node();
+                defaults[i] = PUBLIC;
+            }
+        }
+
+        public Builder publicRoute(String methods, String pattern) {
+            return add(methods, pattern, PUBLIC);
+        }
+
+        public Builder allow(String methods, String pattern, int roles) {
+            return add(methods, pattern, new Rule(true, roles, -1));
+        }
+
+        /** Allows {@code roles}, plus any caller whose user ID equals the {@code :param} segment. */
+        public Builder allowSelfOr(String methods, String pattern, String param, int roles) {
+            List<String> segments = segments(pattern);
+            int index = segments.indexOf(":" + param);
+            if (index < 0) {
+                throw new IllegalArgumentException("Pattern " + pattern + " has no :" + param + " segment");
+            }
+            return add(methods, pattern, new Rule(true, roles, index));
+        }
+
+        public Builder defaultRule(String methods, Rule rule) {
+            for (int m : methodIndexes(methods)) {
+                defaults[m] = rule;
+            }
+            return this;
+        }
+
+        public RouteAuthorizer build() {
+            return new RouteAuthorizer(roots.clone(), defaults.clone());
+        }
+
+        private Builder add(String methods, String pattern, Rule rule) {
+            List<String> segments = segments(pattern);
+            for (int m : methodIndexes(methods)) {
+                Node node = roots[m];
+                for (int i = 0; i < segments.size(); i++) {
+                    String segment = segments.get(i);
+                    if (segment.equals("**")) {
+                        if (i != segments.size() - 1) {
+                            throw new IllegalArgumentException("** must be the last segment: " + pattern);
+                        }
+                        node.tailRule = rule;
+                        node = null;
+                        break;
+                    } else if (segment.startsWith(":")) {
+                        if (node.param == null) {
+                            node.param = new Node();
+                        }
+                        node = node.param;
+                    } else {
+                        node = node.literal(segment);
+                    }
+                }
+                if (node != null) {
+                    node.rule = rule;
+                }
+            }
+            return this;
+        }
+
+        private static List<String> segments(String pattern) {
+            List<String> segments = new ArrayList<>();
+            for (String segment : pattern.substring(pattern.startsWith("/") ? 1 : 0).split("/", -1)) {
+                segments.add(segment);
+            }
+            return segments;
+        }
+
+        private static int[] methodIndexes(String methods) {
+            if (methods.equals("*")) {
+                int[] all = new int[METHODS.length + 1];
+                for (int i = 0; i < all.length; i++) {
+                    all[i] = i;
+                }
+                return all;
+            }
+            String[] names = methods.split(",");
+            int[] indexes = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                indexes[i] = methodIndex(names[i].trim());
+                if (indexes[i] == OTHER_METHOD) {
+                    throw new IllegalArgumentException("Unknown HTTP method: " + names[i]);
+                }
+            }
+            return indexes;
+        }
+    }
+}
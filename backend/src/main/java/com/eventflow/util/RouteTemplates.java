@@ -0,0 +1,130 @@
+package com.eventflow.util;
+
+import spark.RouteImpl;
+import spark.Spark;
+import spark.routematch.RouteMatch;
+
+/**
+ * Maps a request to the template of the Spark route that serves it
+ * ({@code GET /api/events/:id} rather than {@code GET /api/events/42}), so
+ * metrics are kept per route and not per raw path.
+ *
+ * <p>Spark only reports the matched template inside the route itself, so
+ * the templates are read once from {@link Spark#routes()} and compiled into
+ * a segment trie like {@link RouteAuthorizer}'s: a literal segment wins over
+ * {@code :name}, which wins over a trailing {@code *}. Lookup allocates
+ * nothing and returns one of the strings built here.
+ */
+public final class RouteTemplates {
+
+    /** Template reported for requests no route matches, to keep label cardinality bounded. */
+    public static final String UNMATCHED = "unmatched";
+
+    private final Node root = new Node(null);
+
+    private RouteTemplates() {}
+
+    /** Compiles the routes registered so far. Call once every route is mapped. */
+    public static RouteTemplates fromSparkRoutes() {
+        RouteTemplates templates = new RouteTemplates();
+        for (RouteMatch route : Spark.routes()) {
+            if (route.getTarget() instanceof RouteImpl) {
+                templates.add(route.getHttpMethod().name().toUpperCase(), route.getMatchUri());
+            }
+        }
+        return templates;
+    }
+
+    /** Returns "METHOD /template" for a request, or {@link #UNMATCHED}. */
+    public String match(String method, String path) {
+        Node methodNode = root.literalChild(method, 0, method.length());
+        if (methodNode == null) {
+            return UNMATCHED;
+        }
+        String template = match(methodNode, path, path.startsWith("/") ? 1 : 0);
+        return template != null ? template : UNMATCHED;
+    }
+
+    private static String match(Node node, String path, int start) {
+        if (start < 0 || start == path.length()) {
+            // End of path (a trailing slash counts as the end too)
+            return node.template != null ? node.template : node.tailTemplate;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int next = end < path.length() ? end + 1 : -1;
+
+        Node literal = node.literalChild(path, start, end - start);
+        if (literal != null) {
+            String template = match(literal, path, next);
+            if (template != null) {
+                return template;
+            }
+        }
+        if (node.param != null) {
+            String template = match(node.param, path, next);
+            if (template != null) {
+                return template;
+            }
+        }
+        return node.tailTemplate;
+    }
+
+    private void add(String method, String pattern) {
+        String template = method + " " + pattern;
+        Node node = root.addLiteral(method);
+        String[] segments = pattern.substring(pattern.startsWith("/") ? 1 : 0).split("/");
+        for (String segment : segments) {
+            if (segment.equals("*")) {
+                node.tailTemplate = template;
+                return;
+            } else if (segment.startsWith(":")) {
+                if (node.param == null) {
+                    node.param = new Node(null);
+                }
+                node = node.param;
+            } else if (!segment.isEmpty()) {
+                node = node.addLiteral(segment);
+            }
+        }
+        if (node.template == null) {
+            node.template = template;
+        }
+    }
+
+    private static final class Node {
+        final String segment;
+        Node[] literals = new Node[0];
+        Node param;
+        String template;
+        String tailTemplate;
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        Node literalChild(String path, int start, int length) {
+            for (Node child : literals) {
+                if (child.segment.length() == length && path.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        Node addLiteral(String segment) {
+            Node existing = literalChild(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            Node child = new Node(segment);
+            Node[] grown = new Node[literals.length + 1];
+            System.arraycopy(literals, 0, grown, 0, literals.length);
+            grown[literals.length] = child;
+            literals = grown;
+            return child;
+        }
+    }
+}
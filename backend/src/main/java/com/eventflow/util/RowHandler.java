@@ -0,0 +1,16 @@
+package com.eventflow.util;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one at a time from a streaming DAO query, so callers can write
+ * each row out (or collect it) without the DAO materializing the full result.
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    /** Rows requested per round trip when a query is streamed through a server-side cursor. */
+    int FETCH_SIZE = 500;
+
+    void handle(T row) throws IOException;
+}
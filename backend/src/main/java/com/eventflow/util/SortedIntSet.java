@@ -0,0 +1,71 @@
+package com.eventflow.util;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of ints kept as one sorted primitive array. Membership is a
+ * binary search, and a set of n ids costs 4n bytes plus an array header,
+ * with no boxing. Updates return a new set, so a set can be shared freely
+ * between threads.
+ */
+public final class SortedIntSet {
+
+    public static final SortedIntSet EMPTY = new SortedIntSet(new int[0]);
+
+    private final int[] values;
+
+    private SortedIntSet(int[] values) {
+        this.values = values;
+    }
+
+    /** Builds a set from ids in any order; duplicates are dropped. */
+    public static SortedIntSet of(int[] ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return new SortedIntSet(size == sorted.length ? sorted : Arrays.copyOf(sorted, size));
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    public SortedIntSet with(int value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        int[] grown = new int[values.length + 1];
+        System.arraycopy(values, 0, grown, 0, insertAt);
+        grown[insertAt] = value;
+        System.arraycopy(values, insertAt, grown, insertAt + 1, values.length - insertAt);
+        return new SortedIntSet(grown);
+    }
+
+    public SortedIntSet without(int value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return this;
+        }
+        if (values.length == 1) {
+            return EMPTY;
+        }
+        int[] shrunk = new int[values.length - 1];
+        System.arraycopy(values, 0, shrunk, 0, index);
+        System.arraycopy(values, index + 1, shrunk, index, values.length - index - 1);
+        return new SortedIntSet(shrunk);
+    }
+
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,265 @@
+package com.eventflow.util;
+
+import spark.Request;
+import spark.Response;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events fan-out to many long-lived subscribers.
+ *
+ * <p>A subscription puts its request into servlet async mode and returns, so
+ * an idle subscriber holds no thread, only its connection and a small queue.
+ * Each frame is encoded once and the same bytes are queued for every
+ * subscriber. Writes are non-blocking: a frame goes out when the connection
+ * can take it, and a subscriber whose backlog reaches {@code maxQueuedFrames}
+ * is disconnected rather than buffered without bound (EventSource clients
+ * reconnect on their own).
+ *
+ * <p>Subscribers follow one topic, an int such as an event id, or
+ * {@link #ALL} for every frame published. A comment line goes to everyone
+ * every {@code heartbeatSeconds}, so proxies and Jetty's idle timeout leave
+ * quiet streams open and dead connections are noticed.
+ */
+public final class SseBroadcaster {
+
+    /** The topic of subscribers that receive every frame. */
+    public static final int ALL = 0;
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    // Tells EventSource how long to wait before reconnecting
+    private static final byte[] RETRY = "retry: 5000\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final int maxSubscribers;
+    private final int maxQueuedFrames;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Integer, Set<Subscriber>> byTopic = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    public SseBroadcaster(String name, int maxSubscribers, int maxQueuedFrames, int heartbeatSeconds) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxQueuedFrames = maxQueuedFrames;
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /** Encodes one event as an SSE frame; {@code data} must be a single line, e.g. compact JSON. */
+    public static byte[] frame(String event, String data) {
+        return ("event: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens an event stream on this request and subscribes it to
+     * {@code topic}, sending {@code initialFrame} first if it is not null.
+     * The response is committed and left open; the Spark route should
+     * return the empty string. Returns false, leaving the response
+     * untouched, when {@code maxSubscribers} are already connected.
+     */
+    public boolean subscribe(Request req, Response res, int topic, byte[] initialFrame) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+        HttpServletResponse raw = res.raw();
+        raw.setStatus(200);
+        raw.setContentType("text/event-stream;charset=utf-8");
+        raw.setHeader("Cache-Control", "no-cache");
+        // Stops nginx from buffering the stream
+        raw.setHeader("X-Accel-Buffering", "no");
+        // Commit the headers now, so Spark does not write a body of its own once the route returns
+        raw.flushBuffer();
+
+        AsyncContext async = req.raw().startAsync();
+        async.setTimeout(0);
+        Subscriber subscriber = new Subscriber(async, raw.getOutputStream(), topic);
+        async.addListener(subscriber);
+        subscribers.add(subscriber);
+        // Added inside compute, so it cannot race with remove() dropping the topic's set
+        byTopic.compute(topic, (t, set) -> {
+            Set<Subscriber> topicSubscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            topicSubscribers.add(subscriber);
+            return topicSubscribers;
+        });
+        subscriber.start(initialFrame);
+        return true;
+    }
+
+    /** Queues a frame for the subscribers of {@code topic} and of {@link #ALL}. */
+    public void publish(int topic, byte[] frame) {
+        if (topic != ALL) {
+            publishTo(byTopic.get(topic), frame);
+        }
+        publishTo(byTopic.get(ALL), frame);
+    }
+
+    /** Ends every stream on {@code topic}, e.g. one about an event that was deleted. */
+    public void closeTopic(int topic) {
+        Set<Subscriber> topicSubscribers = byTopic.get(topic);
+        if (topicSubscribers != null) {
+            for (Subscriber subscriber : topicSubscribers) {
+                subscriber.close();
+            }
+        }
+    }
+
+    private static void publishTo(Set<Subscriber> topicSubscribers, byte[] frame) {
+        if (topicSubscribers != null) {
+            for (Subscriber subscriber : topicSubscribers) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            byTopic.computeIfPresent(subscriber.topic, (t, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    // Metrics
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * One open stream. All writes happen under the subscriber's lock, either
+     * on the publishing thread or in Jetty's {@link #onWritePossible()}, and
+     * only while {@code isReady()} says the connection can take them.
+     */
+    private final class Subscriber implements WriteListener, AsyncListener {
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final int topic;
+        private final ArrayDeque<byte[]> queue = new ArrayDeque<>(4);
+        private boolean started;
+        private boolean flushPending;
+        private boolean closed;
+
+        Subscriber(AsyncContext async, ServletOutputStream out, int topic) {
+            this.async = async;
+            this.out = out;
+            this.topic = topic;
+        }
+
+        synchronized void start(byte[] initialFrame) {
+            // Ahead of anything published since the subscriber was registered
+            if (initialFrame != null) {
+                queue.addFirst(initialFrame);
+            }
+            queue.addFirst(RETRY);
+            // Switches the stream to non-blocking mode; Jetty calls onWritePossible next
+            out.setWriteListener(this);
+            started = true;
+        }
+
+        synchronized void offer(byte[] frame) {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= maxQueuedFrames) {
+                dropped.increment();
+                close();
+                return;
+            }
+            queue.add(frame);
+            if (started) {
+                drain();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed && out.isReady()) {
+                    byte[] next = queue.poll();
+                    if (next == null) {
+                        if (!flushPending) {
+                            return;
+                        }
+                        flushPending = false;
+                        out.flush();
+                    } else {
+                        out.write(next);
+                        flushPending = true;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.clear();
+            remove(this);
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.eventflow.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded, thread-safe cache with expiry and frequency-aware eviction,
+ * after the W-TinyLFU design.
+ *
+ * <p>New entries land in a small LRU window (about 1% of the capacity).
+ * When the window overflows, its oldest entry competes with the oldest entry
+ * of the main LRU region and whichever was requested more often stays. Use
+ * counts come from a compact count-min sketch that also counts keys no
+ * longer cached, and is halved periodically so old popularity fades. A scan
+ * of one-off keys therefore only churns the window and cannot flush the hot
+ * entries out of the main region, which a plain {@link LruCache} would.
+ *
+ * <p>Entries expire {@code ttlMillis} after they were stored.
+ */
+public class TinyLfuCache<K, V> {
+
+    private final int windowMax;
+    private final int mainMax;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+
+    public TinyLfuCache(int maxEntries, long ttlMillis) {
+        int capacity = Math.max(2, maxEntries);
+        this.windowMax = Math.max(1, capacity / 100);
+        this.mainMax = capacity - windowMax;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    public synchronized V get(K key) {
+        sketch.increment(key.hashCode());
+        Entry<V> entry = window.get(key);
+        if (entry == null) {
+            entry = main.get(key);
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAt > ttlNanos) {
+            window.remove(key);
+            main.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, System.nanoTime());
+        if (main.containsKey(key)) {
+            main.put(key, entry);
+            return;
+        }
+        window.put(key, entry);
+        if (window.size() > windowMax) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = window.entrySet().iterator();
+            Map.Entry<K, Entry<V>> candidate = eldest.next();
+            eldest.remove();
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    public synchronized void remove(K key) {
+        window.remove(key);
+        main.remove(key);
+    }
+
+    public synchronized void clear() {
+        window.clear();
+        main.clear();
+    }
+
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    // Moves an entry evicted from the window into the main region if it is
+    // used more often than the entry it would displace there.
+    private void admit(K key, Entry<V> entry) {
+        if (main.size() < mainMax) {
+            main.put(key, entry);
+            return;
+        }
+        Iterator<Map.Entry<K, Entry<V>>> eldest = main.entrySet().iterator();
+        K victim = eldest.next().getKey();
+        if (sketch.frequency(key.hashCode()) > sketch.frequency(victim.hashCode())) {
+            eldest.remove();
+            main.put(key, entry);
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long storedAt;
+
+        Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    /**
+     * Count-min sketch with four rows of saturating byte counters (max 15).
+     * After ten increments per cache slot every counter is halved, so the
+     * sketch tracks recent rather than all-time popularity.
+     */
+    private static final class FrequencySketch {
+        // Odd multipliers, one per row, so the rows hash independently
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        private static final int MAX_COUNT = 15;
+
+        private final byte[][] rows = new byte[SEEDS.length][];
+        private final int mask;
+        private final int resetAfter;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = new byte[width];
+            }
+            this.mask = width - 1;
+            this.resetAfter = 10 * capacity;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < rows.length; i++) {
+                int index = index(hash, i);
+                if (rows[i][index] < MAX_COUNT) {
+                    rows[i][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= resetAfter) {
+                for (byte[] row : rows) {
+                    for (int j = 0; j < row.length; j++) {
+                        row[j] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(int hash) {
+            int min = MAX_COUNT;
+            for (int i = 0; i < rows.length; i++) {
+                min = Math.min(min, rows[i][index(hash, i)]);
+            }
+            return min;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.eventflow.util;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Jetty thread pool that runs each request task on a new virtual thread.
+ * There is no thread limit: requests blocked on JDBC park their virtual thread
+ * instead of holding a platform thread. What bounds concurrency is the
+ * connection pool and the optional guards in {@link RequestLimiter} and
+ * {@link HikariCPDataSource}.
+ *
+ * <p>Jetty's acceptor and selector loops get platform threads of their own.
+ * They block in native calls that pin a carrier thread, and with few carriers
+ * that stalls every virtual thread. Because this pool is not a
+ * {@code TryExecutor}, Jetty keeps each selector loop on the thread it started
+ * on and hands connection work to {@link #execute} as separate tasks.
+ */
+public class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+
+    private final ThreadFactory virtualFactory = Thread.ofVirtual().name("jetty-vt-", 0).factory();
+    private final ThreadFactory platformFactory = Thread.ofPlatform().name("jetty-io-", 0).factory();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile CountDownLatch stopped = new CountDownLatch(1);
+
+    @Override
+    protected void doStart() {
+        stopped = new CountDownLatch(1);
+    }
+
+    @Override
+    protected void doStop() {
+        stopped.countDown();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!isRunning()) {
+            throw new RejectedExecutionException("Thread pool is not running");
+        }
+        ThreadFactory factory = isJettyLoop(task) ? platformFactory : virtualFactory;
+        factory.newThread(() -> {
+            running.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        }).start();
+    }
+
+    private static boolean isJettyLoop(Runnable task) {
+        String name = task.getClass().getName();
+        return name.startsWith("org.eclipse.jetty.server.AbstractConnector$Acceptor")
+                || name.startsWith("org.eclipse.jetty.io.ManagedSelector")
+                || name.startsWith("org.eclipse.jetty.util.thread.strategy.");
+    }
+
+    @Override
+    public void join() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    public int getThreads() {
+        return running.get();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+}
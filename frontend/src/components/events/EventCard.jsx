@@ -1,7 +1,7 @@
 import { Link } from 'react-router-dom';
 import { Card, CardContent, CardDescription, CardFooter, CardHeader, CardTitle } from '../components/ui/card';
 import { Button } from '../components/ui/button';
-import { format } from 'date-fns';
+import { format, parseISO } from 'date-fns';
 import { CalendarIcon, MapPinIcon } from 'lucide-react';
 
 function EventCard({ event }) {
@@ -15,7 +15,7 @@ function EventCard({ event }) {
         <CardContent className="flex-grow">
           <div className="flex items-center text-sm text-gray-500 mb-2">
             <CalendarIcon className="mr-2 h-4 w-4" />
-            <span>{format(new Date(event.eventDate), 'PPP')}</span>
+            <span>{format(parseISO(event.eventDate), 'PPP')}</span>
           </div>
           <div className="flex items-center text-sm text-gray-500">
             <MapPinIcon className="mr-2 h-4 w-4" />
@@ -24,7 +24,7 @@ function EventCard({ event }) {
         </CardContent>
         <CardFooter>
           <Button asChild className="w-full bg-purple-600 hover:bg-purple-700">
-            <div className="w-full">View Details</div>
+            <div className="w-full">{event.registered ? 'Registered · View Details' : 'View Details'}</div>
           </Button>
         </CardFooter>
       </Card>
@@ -56,8 +56,16 @@ export const authApi = {
 };
 
 // --- Event API ---
+// A signed-in caller's page lists their events in registeredEventIds; mark them on the events themselves
+const markRegistered = (response) => {
+  const registered = new Set(response.data.registeredEventIds || []);
+  response.data.events = response.data.events.map((event) => ({ ...event, registered: registered.has(event.eventId) }));
+  return response;
+};
+
 export const eventApi = {
-  getAllEvents: () => api.get('/events'),
+  getAllEvents: (params) => api.get('/events', { params }).then(markRegistered),
+  searchEvents: (q) => api.get('/events/search', { params: { q } }),
   getEventById: (id) => api.get(`/events/${id}`),
   createEvent: (eventData) => api.post('/events', eventData),
   updateEvent: (id, eventData) => api.put(`/events/${id}`, eventData),
@@ -79,6 +87,7 @@ export const organizerApi = {
 // --- Registration API ---
 export const registrationApi = {
   registerForEvent: (eventId, userId) => api.post(`/events/${eventId}/register`, { userId }),
+  cancelRegistration: (eventId) => api.delete(`/events/${eventId}/register`),
   getUserRegistrations: (userId) => api.get(`/users/${userId}/registrations`),
   getEventRegistrations: (eventId) => api.get(`/admin/registrations?eventId=${eventId}`),
 };
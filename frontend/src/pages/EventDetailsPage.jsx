@@ -6,7 +6,7 @@ import { toast } from 'sonner';
 import { Button } from '../components/components/ui/button';
 import { Card, CardContent, CardHeader, CardTitle } from '../components/components/ui/card';
 import { Skeleton } from '../components/components/ui/skeleton';
-import { format } from 'date-fns';
+import { format, parseISO } from 'date-fns';
 import { CalendarIcon, MapPinIcon, UserIcon } from 'lucide-react';
 
 function EventDetailsPage() {
@@ -17,7 +17,7 @@ function EventDetailsPage() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [isRegistering, setIsRegistering] = useState(false);
-  const [isRegistered, setIsRegistered] = useState(false);
+  const [registration, setRegistration] = useState(null);
 
   useEffect(() => {
     const fetchEventAndRegistrationStatus = async () => {
@@ -26,11 +26,12 @@ function EventDetailsPage() {
         const eventResponse = await eventApi.getEventById(id);
         setEvent(eventResponse.data);
 
-        // If user is an attendee, check if they are already registered
-        if (isAuthenticated && user?.role === 'attendee') {
+        // The event is marked `registered` for a logged-in user; only then
+        // fetch the registration itself for its status and waitlist position.
+        if (isAuthenticated && user?.role === 'attendee' && eventResponse.data.registered) {
           const regsResponse = await registrationApi.getUserRegistrations(user.userId);
-          const isAlreadyRegistered = regsResponse.data.some(reg => reg.eventId === parseInt(id));
-          setIsRegistered(isAlreadyRegistered);
+          const existing = regsResponse.data.find(reg => reg.eventId === parseInt(id));
+          setRegistration(existing || null);
         }
       } catch (err) {
         setError(err);
@@ -56,9 +57,13 @@ function EventDetailsPage() {
 
     setIsRegistering(true);
     try {
-      await registrationApi.registerForEvent(id, user.userId);
-      toast.success('Successfully registered for the event!');
-      setIsRegistered(true); // Update UI immediately
+      const response = await registrationApi.registerForEvent(id, user.userId);
+      if (response.data.status === 'waitlisted') {
+        toast.success(`The event is full. You are #${response.data.waitlistPosition} on the waitlist.`);
+      } else {
+        toast.success('Successfully registered for the event!');
+      }
+      setRegistration(response.data); // Update UI immediately
     } catch (err) {
       console.error('Registration error:', err);
     } finally {
@@ -66,6 +71,19 @@ function EventDetailsPage() {
     }
   };
 
+  const handleCancel = async () => {
+    setIsRegistering(true);
+    try {
+      await registrationApi.cancelRegistration(id);
+      toast.success('Your registration has been cancelled.');
+      setRegistration(null);
+    } catch (err) {
+      console.error('Cancellation error:', err);
+    } finally {
+      setIsRegistering(false);
+    }
+  };
+
   if (loading) {
     return (
       <div className="container mx-auto px-4 py-8">
@@ -102,10 +120,17 @@ function EventDetailsPage() {
           <p className="text-lg text-gray-600 mb-6">{event.description}</p>
           
           {isAuthenticated && user?.role === 'attendee' && (
-            isRegistered ? (
-              <Button size="lg" disabled>
-                You are Registered
-              </Button>
+            registration ? (
+              <div className="flex items-center gap-4">
+                <Button size="lg" disabled>
+                  {registration.status === 'waitlisted'
+                    ? `On the Waitlist (#${registration.waitlistPosition})`
+                    : 'You are Registered'}
+                </Button>
+                <Button variant="outline" size="lg" onClick={handleCancel} disabled={isRegistering}>
+                  {isRegistering ? 'Cancelling...' : 'Cancel Registration'}
+                </Button>
+              </div>
             ) : (
               <Button 
                 onClick={handleRegister} 
@@ -136,7 +161,7 @@ function EventDetailsPage() {
                 <CalendarIcon className="h-5 w-5 mr-3 mt-1 text-gray-500" />
                 <div>
                   <p className="font-semibold">Date & Time</p>
-                  <p className="text-gray-600">{format(new Date(event.eventDate), 'PPP')}</p>
+                  <p className="text-gray-600">{format(parseISO(event.eventDate), 'PPP')}</p>
                 </div>
               </div>
               <div className="flex items-start">
@@ -53,6 +53,7 @@ function EventRegistrationsPage() {
                 <TableHead>Full Name</TableHead>
                 <TableHead>Email</TableHead>
                 <TableHead>Registered At</TableHead>
+                <TableHead>Status</TableHead>
               </TableRow>
             </TableHeader>
             <TableBody>
@@ -62,11 +63,14 @@ function EventRegistrationsPage() {
                     <TableCell className="font-medium">{reg.fullName}</TableCell>
                     <TableCell>{reg.email}</TableCell>
                     <TableCell>{format(new Date(reg.registeredAt), 'PPP p')}</TableCell>
+                    <TableCell>
+                      {reg.status === 'waitlisted' ? `Waitlisted (#${reg.waitlistPosition})` : 'Confirmed'}
+                    </TableCell>
                   </TableRow>
                 ))
               ) : (
                 <TableRow>
-                  <TableCell colSpan={3} className="text-center">No registrations found for this event.</TableCell>
+                  <TableCell colSpan={4} className="text-center">No registrations found for this event.</TableCell>
                 </TableRow>
               )}
             </TableBody>
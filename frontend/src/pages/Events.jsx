@@ -3,17 +3,24 @@ import { eventApi } from '../lib/api';
 import { toast } from 'sonner';
 import EventCard from '../components/events/EventCard';
 import { Skeleton } from '../components/components/ui/skeleton';
+import { Button } from '../components/components/ui/button';
+import { Input } from '../components/components/ui/input';
 
 function EventsPage() {
   const [events, setEvents] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [query, setQuery] = useState('');
+  const [searchResults, setSearchResults] = useState(null);
 
   useEffect(() => {
     const fetchEvents = async () => {
       try {
         const response = await eventApi.getAllEvents();
-        setEvents(response.data);
+        setEvents(response.data.events);
+        setNextCursor(response.data.nextCursor);
       } catch (err) {
         setError(err);
         toast.error('Failed to load events.');
@@ -25,6 +32,36 @@ function EventsPage() {
     fetchEvents();
   }, []);
 
+  // Search runs on the server's in-memory index; clearing the box restores the catalog
+  useEffect(() => {
+    if (!query.trim()) {
+      setSearchResults(null);
+      return;
+    }
+    const timer = setTimeout(async () => {
+      try {
+        const response = await eventApi.searchEvents(query);
+        setSearchResults(response.data);
+      } catch (err) {
+        toast.error('Search failed.');
+      }
+    }, 200);
+    return () => clearTimeout(timer);
+  }, [query]);
+
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const response = await eventApi.getAllEvents({ cursor: nextCursor });
+      setEvents((prev) => [...prev, ...response.data.events]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      toast.error('Failed to load more events.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   if (loading) {
     return (
       <div className="container mx-auto px-4 py-8">
@@ -48,18 +85,35 @@ function EventsPage() {
     return <div className="text-center text-red-500">Error: {error.message}</div>;
   }
 
+  const shownEvents = searchResults ?? events;
+
   return (
     <div className="container mx-auto px-4 py-8">
       <h1 className="text-3xl font-bold text-center mb-8">Upcoming Events</h1>
-      {events.length === 0 ? (
+      <div className="max-w-md mx-auto mb-8">
+        <Input
+          type="search"
+          placeholder="Search events..."
+          value={query}
+          onChange={(e) => setQuery(e.target.value)}
+        />
+      </div>
+      {shownEvents.length === 0 ? (
         <p className="text-center text-gray-500">No events found.</p>
       ) : (
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-          {events.map((event) => (
+          {shownEvents.map((event) => (
             <EventCard key={event.eventId} event={event} />
           ))}
         </div>
       )}
+      {!searchResults && nextCursor && (
+        <div className="flex justify-center mt-8">
+          <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </Button>
+        </div>
+      )}
     </div>
   );
 }
@@ -10,9 +10,9 @@ function HomePage() {
   useEffect(() => {
     const fetchFeaturedEvents = async () => {
       try {
-        const response = await eventApi.getAllEvents();
-        // Take the first 3 events as featured
-        setFeaturedEvents(response.data.slice(0, 3));
+        // Only the first 3 events are featured
+        const response = await eventApi.getAllEvents({ limit: 3 });
+        setFeaturedEvents(response.data.events);
       } catch (error) {
         console.error("Failed to load featured events:", error);
       }
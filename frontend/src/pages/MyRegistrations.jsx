@@ -4,7 +4,7 @@ import { registrationApi } from '../lib/api';
 import { toast } from 'sonner';
 import { Card, CardContent, CardHeader, CardTitle, CardDescription } from '../components/components/ui/card';
 import { Skeleton } from '../components/components/ui/skeleton';
-import { format } from 'date-fns';
+import { format, parseISO } from 'date-fns';
 
 function MyRegistrationsPage() {
   const { user, isAuthenticated } = useAuthStore();
@@ -76,8 +76,12 @@ function MyRegistrationsPage() {
                 <CardDescription>{reg.description}</CardDescription>
               </CardHeader>
               <CardContent>
-                <p><strong>Event Date:</strong> {format(new Date(reg.eventDate), 'PPP')}</p>
+                <p><strong>Event Date:</strong> {format(parseISO(reg.eventDate), 'PPP')}</p>
                 <p><strong>Registered At:</strong> {format(new Date(reg.registeredAt), 'PPP p')}</p>
+                <p>
+                  <strong>Status:</strong>{' '}
+                  {reg.status === 'waitlisted' ? `Waitlisted (#${reg.waitlistPosition})` : 'Confirmed'}
+                </p>
               </CardContent>
             </Card>
           ))}
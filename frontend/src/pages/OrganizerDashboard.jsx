@@ -6,7 +6,7 @@ import { toast } from 'sonner';
 import { Button } from '../components/components/ui/button';
 import { Card, CardContent, CardHeader, CardTitle } from '../components/components/ui/card';
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from '@/components/components/ui/table';
-import { format } from 'date-fns';
+import { format, parseISO } from 'date-fns';
 
 function OrganizerDashboard() {
   const [events, setEvents] = useState([]);
@@ -80,7 +80,7 @@ function OrganizerDashboard() {
                 events.map((event) => (
                   <TableRow key={event.eventId}>
                     <TableCell className="font-medium">{event.title}</TableCell>
-                    <TableCell>{format(new Date(event.eventDate), 'PPP')}</TableCell>
+                    <TableCell>{format(parseISO(event.eventDate), 'PPP')}</TableCell>
                     <TableCell>{event.venue ? event.venue.name : 'N/A'}</TableCell>
                     <TableCell>{event.registrationCount}</TableCell>
                     <TableCell className="space-x-2">
@@ -65,7 +65,8 @@ CREATE TABLE events (
     event_date DATE NOT NULL,
     venue_id INTEGER REFERENCES venues(venue_id) ON DELETE SET NULL,
     created_by INTEGER REFERENCES users(user_id) ON DELETE SET NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    registration_count INTEGER NOT NULL DEFAULT 0
 );
 
 -- Indexes for better performance
@@ -75,6 +76,7 @@ CREATE INDEX idx_events_creator ON events(created_by);
 CREATE INDEX idx_events_title ON events(title);
 
 COMMENT ON TABLE events IS 'Stores event information';
+COMMENT ON COLUMN events.registration_count IS 'Confirmed registrations, maintained by the backend in the same transaction as each registration change';
 
 -- ============================================
 -- 4. EVENT_SCHEDULE TABLE (Optional - for multi-session events)
@@ -150,6 +152,9 @@ INSERT INTO registrations (user_id, event_id, status) VALUES
 (3, 2, 'confirmed'),
 (3, 4, 'confirmed');
 
+UPDATE events e SET registration_count =
+    (SELECT COUNT(*) FROM registrations r WHERE r.event_id = e.event_id AND r.status = 'confirmed');
+
 -- ============================================
 -- VERIFY DATA
 -- ============================================